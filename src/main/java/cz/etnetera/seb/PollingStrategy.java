@@ -0,0 +1,89 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Built-in {@link SebPollingStrategy} implementations.
+ */
+public enum PollingStrategy implements SebPollingStrategy {
+
+	/**
+	 * Waits retry interval between all checks.
+	 */
+	FIXED {
+		@Override
+		public long getDelay(int poll, long interval, long maxInterval) {
+			return interval;
+		}
+	},
+
+	/**
+	 * Doubles delay after every check, starting with retry interval up to
+	 * maximal interval.
+	 */
+	BACKOFF {
+		@Override
+		public long getDelay(int poll, long interval, long maxInterval) {
+			return backoff(poll, interval, maxInterval);
+		}
+	},
+
+	/**
+	 * Same as {@link #BACKOFF} with random delay between half and whole
+	 * computed delay, so parallel waits do not poll at the same time.
+	 */
+	JITTER {
+		@Override
+		public long getDelay(int poll, long interval, long maxInterval) {
+			long delay = backoff(poll, interval, maxInterval);
+			return delay / 2 + ThreadLocalRandom.current().nextLong(delay - delay / 2 + 1);
+		}
+	},
+
+	/**
+	 * Waits retry interval for first {@link #FAST_POLLS} checks and maximal
+	 * interval after them.
+	 */
+	FAST_THEN_SLOW {
+		@Override
+		public long getDelay(int poll, long interval, long maxInterval) {
+			return poll < FAST_POLLS ? interval : maxInterval;
+		}
+	};
+
+	/**
+	 * Count of checks using retry interval in {@link #FAST_THEN_SLOW}.
+	 */
+	public static final int FAST_POLLS = 5;
+
+	protected static long backoff(int poll, long interval, long maxInterval) {
+		int shift = Math.min(poll - 1, 30);
+		return interval > maxInterval >> shift ? maxInterval : interval << shift;
+	}
+
+	/**
+	 * Parses strategy ignoring case.
+	 * 
+	 * @param strategy
+	 *            The strategy name
+	 * @return The strategy
+	 */
+	public static PollingStrategy parse(String strategy) {
+		return valueOf(strategy.trim().toUpperCase());
+	}
+
+}
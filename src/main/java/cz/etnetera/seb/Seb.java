@@ -14,12 +14,15 @@
  */
 package cz.etnetera.seb;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -27,19 +30,23 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.DesiredCapabilities;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.events.EventFiringWebDriver;
 import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
+import org.openqa.selenium.support.pagefactory.Annotations;
 import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 
@@ -50,8 +57,14 @@ import cz.etnetera.seb.configuration.SebConfiguration;
 import cz.etnetera.seb.configuration.SebConfigurationConstructException;
 import cz.etnetera.seb.element.SebElement;
 import cz.etnetera.seb.element.SebElementConstructException;
-import cz.etnetera.seb.element.SebElementInterceptor;
+import cz.etnetera.seb.element.SebElementLazyInitCache;
+import cz.etnetera.seb.element.SebElementList;
 import cz.etnetera.seb.element.SebElementLoader;
+import cz.etnetera.seb.element.SebElementLocator;
+import cz.etnetera.seb.element.SebElementLocatorCache;
+import cz.etnetera.seb.element.SebElementProperties;
+import cz.etnetera.seb.element.SebElementsInitializer;
+import cz.etnetera.seb.element.SebElementsInitializerCache;
 import cz.etnetera.seb.element.SebFieldDecorator;
 import cz.etnetera.seb.event.EventConstructException;
 import cz.etnetera.seb.event.SebEvent;
@@ -67,17 +80,19 @@ import cz.etnetera.seb.event.impl.OnReportEvent;
 import cz.etnetera.seb.event.impl.OnSebStartEvent;
 import cz.etnetera.seb.listener.EventFiringSebBridgeListener;
 import cz.etnetera.seb.listener.SebListener;
+import cz.etnetera.seb.listener.impl.PageSourceListener;
+import cz.etnetera.seb.listener.impl.PageSourceMode;
+import cz.etnetera.seb.listener.impl.ScreenshotFormat;
+import cz.etnetera.seb.listener.impl.ScreenshotListener;
 import cz.etnetera.seb.logic.Logic;
 import cz.etnetera.seb.logic.LogicConstructException;
 import cz.etnetera.seb.page.Page;
 import cz.etnetera.seb.page.PageConstructException;
+import cz.etnetera.seb.page.PageReadiness;
+import cz.etnetera.seb.page.PageSignature;
+import cz.etnetera.seb.page.PageUrlTracker;
 import cz.etnetera.seb.source.DataSource;
 import cz.etnetera.seb.source.PropertySource;
-import net.bytebuddy.ByteBuddy;
-import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
-import net.bytebuddy.implementation.MethodDelegation;
-import net.bytebuddy.implementation.SuperMethodCall;
-import net.bytebuddy.matcher.ElementMatchers;
 
 /**
  * Wrapper class for {@link WebDriver}. It is configured using
@@ -94,6 +109,12 @@ public class Seb implements SebContext {
 
 	public static final DateTimeFormatter FILE_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
 
+	/**
+	 * Time in milliseconds added to asynchronous script timeout, so the
+	 * script can finish itself before driver gives up.
+	 */
+	protected static final long SCRIPT_TIMEOUT_RESERVE = 5000;
+
 	protected SebConfiguration configuration;
 
 	protected WebDriver driver;
@@ -107,9 +128,17 @@ public class Seb implements SebContext {
 	protected double waitTimeout;
 
 	protected double waitRetryInterval;
+
+	protected SebPollingStrategy waitPollingStrategy;
+
+	protected double waitPollingMaxInterval;
 	
 	protected double waitBeforePageInitTimeout;
 
+	protected PageReadiness pageReadiness;
+
+	protected double pageReadinessQuietPeriod;
+
 	protected Page page;
 
 	protected String label;
@@ -118,14 +147,59 @@ public class Seb implements SebContext {
 
 	protected File reportDir;
 
+	protected boolean reportDedup;
+
+	protected SebBlobStore blobStore;
+
+	protected PageSourceMode pageSourceMode;
+
+	protected int pageSourceKeyframeInterval;
+
+	protected SebArtifactRing artifactRing;
+
+	protected ScreenshotFormat screenshotFormat;
+
+	protected double screenshotScale;
+
+	protected double screenshotQuality;
+
+	protected int screenshotThumbnail;
+
 	protected List<SebListener> listeners = new ArrayList<>();
 
+	protected volatile Map<Class<? extends SebEvent>, Boolean> subscriptions = new ConcurrentHashMap<>();
+
 	protected boolean alertSupported;
 
 	protected boolean lazyDriver;
 
 	protected Level logLevel;
 
+	protected boolean logConsole;
+
+	protected double logFlushInterval;
+
+	protected long logMaxFileSize;
+
+	protected boolean elementCache;
+
+	protected SebElementLocatorCache elementLocatorCache;
+
+	protected boolean reuseNavigatedUrl;
+
+	protected PageUrlTracker pageUrlTracker;
+
+	protected boolean composeLocators;
+
+	protected boolean asyncReport;
+
+	protected SebAsyncExecutor asyncExecutor;
+
+	/**
+	 * Save events of files written on report thread waiting to be triggered.
+	 */
+	protected final Queue<SebEvent> writtenEvents = new ConcurrentLinkedQueue<>();
+
 	protected boolean started;
 
 	protected Map<String, Object> dataHolder = new HashMap<String, Object>();
@@ -134,6 +208,21 @@ public class Seb implements SebContext {
 
 	protected SebElementLoader elementLoader = new SebElementLoader();
 
+	protected SebElementLazyInitCache elementLazyInitCache = SebElementLazyInitCache.SHARED;
+
+	protected SebElementsInitializerCache elementsInitializerCache = SebElementsInitializerCache.SHARED;
+
+	protected SebConstructorCache constructorCache = SebConstructorCache.SHARED;
+
+	protected SebFileAllocator fileAllocator = SebFileAllocator.SHARED;
+
+	/**
+	 * Report directory acquired in {@link #fileAllocator}, released on quit.
+	 */
+	protected File allocatedReportDir;
+
+	protected SebWaitStatistics waitStatistics = new SebWaitStatistics();
+
 	protected JavascriptLibrary javascriptLibrary = new JavascriptLibrary();
 
 	/**
@@ -263,6 +352,7 @@ public class Seb implements SebContext {
 	 */
 	public Seb withListener(SebListener listener) {
 		listeners.add(listener);
+		invalidateSubscriptions();
 		return this;
 	}
 
@@ -293,7 +383,11 @@ public class Seb implements SebContext {
 		urlVerification = configuration.isUrlVerification();
 		waitTimeout = configuration.getWaitTimeout();
 		waitRetryInterval = configuration.getWaitRetryInterval();
+		waitPollingStrategy = configuration.getWaitPollingStrategy();
+		waitPollingMaxInterval = configuration.getWaitPollingMaxInterval();
 		waitBeforePageInitTimeout = configuration.getWaitBeforePageInitTimeout();
+		pageReadiness = configuration.getPageReadiness();
+		pageReadinessQuietPeriod = configuration.getPageReadinessQuietPeriod();
 		reported = configuration.isReported();
 		if (reported) {
 			reportDir = configuration.getReportDir();
@@ -308,7 +402,12 @@ public class Seb implements SebContext {
 			} else if (!reportDir.canWrite()) {
 				throw new SebException("Report directory is not writable " + reportDir);
 			}
+			fileAllocator.acquire(reportDir);
+			allocatedReportDir = reportDir;
 		}
+		reportDedup = configuration.isReportDedup();
+		if (reported && reportDedup)
+			blobStore = new SebBlobStore(reportDir.toPath());
 		if (configuration instanceof DataSource)
 			dataHolder = ((DataSource) configuration).getDataHolder();
 
@@ -317,10 +416,40 @@ public class Seb implements SebContext {
 			listeners.addAll(confListeners);
 		lazyDriver = configuration.isLazyDriver();
 		logLevel = configuration.getLogLevel();
+		logConsole = configuration.isLogConsole();
+		logFlushInterval = configuration.getLogFlushInterval();
+		logMaxFileSize = configuration.getLogMaxFileSize();
+		elementCache = configuration.isElementCache();
+		if (elementCache) {
+			elementLocatorCache = new SebElementLocatorCache();
+			listeners.add(elementLocatorCache);
+		}
+		reuseNavigatedUrl = configuration.isReuseNavigatedUrl();
+		if (reuseNavigatedUrl) {
+			pageUrlTracker = new PageUrlTracker();
+			listeners.add(pageUrlTracker);
+		}
+		composeLocators = configuration.isComposeLocators();
+		pageSourceMode = configuration.getPageSourceMode();
+		pageSourceKeyframeInterval = configuration.getPageSourceKeyframeInterval();
+		screenshotFormat = configuration.getScreenshotFormat();
+		screenshotScale = configuration.getScreenshotScale();
+		screenshotQuality = configuration.getScreenshotQuality();
+		screenshotThumbnail = configuration.getScreenshotThumbnail();
+		int artifactsRetention = configuration.getArtifactsRetention();
+		if (reported && artifactsRetention > 0) {
+			artifactRing = new SebArtifactRing(artifactsRetention);
+			listeners.add(artifactRing);
+		}
+		asyncReport = configuration.isAsyncReport();
+		if (asyncReport)
+			asyncExecutor = new SebAsyncExecutor(utils.join(LABEL_DELIMITER, "seb-report", label),
+					configuration.getAsyncReportQueueSize());
 	}
 
 	protected void initListeners() {
 		listeners.forEach(l -> l.init(this));
+		invalidateSubscriptions();
 	}
 
 	protected void initDriver() {
@@ -331,7 +460,7 @@ public class Seb implements SebContext {
 		triggerEvent(befDriverConstEvent);
 		WebDriver drv = configuration.getDriver(befDriverConstEvent.getCapabilities());
 
-		driver = new EventFiringWebDriver(drv).register(new EventFiringSebBridgeListener(this));
+		driver = new SebEventFiringWebDriver(drv, this).register(new EventFiringSebBridgeListener(this));
 		triggerEvent(constructEvent(AfterDriverConstructEvent.class));
 
 		// set driver specific configurations
@@ -356,6 +485,34 @@ public class Seb implements SebContext {
 	public void addListener(SebListener listener) {
 		listener.init(this);
 		listeners.add(listener);
+		invalidateSubscriptions();
+	}
+
+	/**
+	 * Returns true if some listener can handle events of given class. It
+	 * allows skipping construction of events nobody listens to.
+	 * 
+	 * @param eventCls
+	 *            The event class
+	 * @return Subscription status
+	 * @see SebListener#isSubscribed(Class)
+	 */
+	public boolean isSubscribed(Class<? extends SebEvent> eventCls) {
+		Map<Class<? extends SebEvent>, Boolean> current = subscriptions;
+		Boolean subscribed = current.get(eventCls);
+		if (subscribed == null) {
+			subscribed = listeners.stream().anyMatch(l -> l.isSubscribed(eventCls));
+			current.put(eventCls, subscribed);
+		}
+		return subscribed;
+	}
+
+	/**
+	 * Forgets subscriptions of listeners. It is called when listeners are
+	 * added or their enabled events change.
+	 */
+	public void invalidateSubscriptions() {
+		subscriptions = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -479,6 +636,53 @@ public class Seb implements SebContext {
 	public void setWaitRetryInterval(double waitRetryInterval) {
 		this.waitRetryInterval = waitRetryInterval;
 	}
+
+	/**
+	 * Returns strategy deciding delays between wait condition checks.
+	 * 
+	 * @return The wait polling strategy
+	 */
+	public SebPollingStrategy getWaitPollingStrategy() {
+		return waitPollingStrategy;
+	}
+
+	/**
+	 * Sets strategy deciding delays between wait condition checks.
+	 * 
+	 * @param waitPollingStrategy
+	 *            The wait polling strategy
+	 */
+	public void setWaitPollingStrategy(SebPollingStrategy waitPollingStrategy) {
+		this.waitPollingStrategy = waitPollingStrategy;
+	}
+
+	/**
+	 * Returns maximal delay between wait condition checks in seconds.
+	 * 
+	 * @return The wait polling max interval
+	 */
+	public double getWaitPollingMaxInterval() {
+		return waitPollingMaxInterval;
+	}
+
+	/**
+	 * Sets maximal delay between wait condition checks in seconds.
+	 * 
+	 * @param waitPollingMaxInterval
+	 *            The wait polling max interval
+	 */
+	public void setWaitPollingMaxInterval(double waitPollingMaxInterval) {
+		this.waitPollingMaxInterval = waitPollingMaxInterval;
+	}
+
+	/**
+	 * Returns statistics of waits done with this instance.
+	 * 
+	 * @return The wait statistics
+	 */
+	public SebWaitStatistics getWaitStatistics() {
+		return waitStatistics;
+	}
 	
 	@Override
 	public double getWaitBeforePageInitTimeout() {
@@ -495,6 +699,44 @@ public class Seb implements SebContext {
 		this.waitBeforePageInitTimeout = waitBeforePageInitTimeout;
 	}
 
+	/**
+	 * Returns how pages wait before initialization.
+	 * 
+	 * @return The page readiness
+	 */
+	public PageReadiness getPageReadiness() {
+		return pageReadiness;
+	}
+
+	/**
+	 * Sets how pages wait before initialization.
+	 * 
+	 * @param pageReadiness
+	 *            The page readiness
+	 */
+	public void setPageReadiness(PageReadiness pageReadiness) {
+		this.pageReadiness = pageReadiness;
+	}
+
+	/**
+	 * Returns time in seconds DOM must not change to consider page ready.
+	 * 
+	 * @return The page readiness quiet period
+	 */
+	public double getPageReadinessQuietPeriod() {
+		return pageReadinessQuietPeriod;
+	}
+
+	/**
+	 * Sets time in seconds DOM must not change to consider page ready.
+	 * 
+	 * @param pageReadinessQuietPeriod
+	 *            The page readiness quiet period
+	 */
+	public void setPageReadinessQuietPeriod(double pageReadinessQuietPeriod) {
+		this.pageReadinessQuietPeriod = pageReadinessQuietPeriod;
+	}
+
 	/**
 	 * Is storing files using Seb enabled.
 	 * 
@@ -542,6 +784,33 @@ public class Seb implements SebContext {
 		return logLevel;
 	}
 
+	/**
+	 * Are logs printed to console.
+	 * 
+	 * @return Log console status
+	 */
+	public boolean isLogConsole() {
+		return logConsole;
+	}
+
+	/**
+	 * Maximum time in seconds logs are kept in buffer.
+	 * 
+	 * @return The log flush interval
+	 */
+	public double getLogFlushInterval() {
+		return logFlushInterval;
+	}
+
+	/**
+	 * Maximum log file size in bytes, 0 for unlimited.
+	 * 
+	 * @return The log max file size
+	 */
+	public long getLogMaxFileSize() {
+		return logMaxFileSize;
+	}
+
 	/**
 	 * Returns utils instance.
 	 * 
@@ -556,11 +825,288 @@ public class Seb implements SebContext {
 		return elementLoader;
 	}
 
+	/**
+	 * Returns cache of lazy initialization classes used for optional
+	 * elements.
+	 * 
+	 * @return The lazy initialization cache
+	 */
+	public SebElementLazyInitCache getElementLazyInitCache() {
+		return elementLazyInitCache;
+	}
+
+	/**
+	 * Returns cache of initializers used for element fields.
+	 * 
+	 * @return The elements initializer cache
+	 */
+	public SebElementsInitializerCache getElementsInitializerCache() {
+		return elementsInitializerCache;
+	}
+
+	/**
+	 * Returns cache of constructors used for events, pages, logics and
+	 * elements.
+	 * 
+	 * @return The constructor cache
+	 */
+	public SebConstructorCache getConstructorCache() {
+		return constructorCache;
+	}
+
+	/**
+	 * Returns allocator of unique report files.
+	 * 
+	 * @return The file allocator
+	 */
+	public SebFileAllocator getFileAllocator() {
+		return fileAllocator;
+	}
+
+	/**
+	 * Is element cache enabled.
+	 * 
+	 * @return Element cache status
+	 */
+	public boolean isElementCache() {
+		return elementCache;
+	}
+
+	/**
+	 * Are locators of nested elements composed.
+	 * 
+	 * @return Locators composition status
+	 */
+	public boolean isComposeLocators() {
+		return composeLocators;
+	}
+
+	/**
+	 * Is content of report files deduplicated.
+	 * 
+	 * @return Report deduplication status
+	 */
+	public boolean isReportDedup() {
+		return reportDedup;
+	}
+
+	/**
+	 * Returns store of deduplicated report files or null if deduplication
+	 * is disabled.
+	 * 
+	 * @return The blob store
+	 */
+	public SebBlobStore getBlobStore() {
+		return blobStore;
+	}
+
+	/**
+	 * How page sources are stored by {@link PageSourceListener}.
+	 * 
+	 * @return The page source mode
+	 */
+	public PageSourceMode getPageSourceMode() {
+		return pageSourceMode;
+	}
+
+	/**
+	 * Count of page source captures between full page sources in delta
+	 * mode.
+	 * 
+	 * @return The page source keyframe interval
+	 */
+	public int getPageSourceKeyframeInterval() {
+		return pageSourceKeyframeInterval;
+	}
+
+	/**
+	 * Returns ring of artifacts kept until failure or null if artifacts are
+	 * saved immediately.
+	 * 
+	 * @return The artifact ring
+	 */
+	public SebArtifactRing getArtifactRing() {
+		return artifactRing;
+	}
+
+	/**
+	 * Saves all artifacts kept in {@link #getArtifactRing()}. Does nothing
+	 * if artifacts are saved immediately.
+	 * 
+	 * @return Seb instance
+	 */
+	public Seb persistArtifacts() {
+		if (artifactRing != null)
+			artifactRing.persist();
+		return this;
+	}
+
+	/**
+	 * Format of screenshots stored by {@link ScreenshotListener}.
+	 * 
+	 * @return The screenshot format
+	 */
+	public ScreenshotFormat getScreenshotFormat() {
+		return screenshotFormat;
+	}
+
+	/**
+	 * Scale of stored screenshots.
+	 * 
+	 * @return The screenshot scale
+	 */
+	public double getScreenshotScale() {
+		return screenshotScale;
+	}
+
+	/**
+	 * Quality of JPEG screenshots.
+	 * 
+	 * @return The screenshot quality
+	 */
+	public double getScreenshotQuality() {
+		return screenshotQuality;
+	}
+
+	/**
+	 * Width of screenshot thumbnails, 0 for no thumbnails.
+	 * 
+	 * @return The screenshot thumbnail width
+	 */
+	public int getScreenshotThumbnail() {
+		return screenshotThumbnail;
+	}
+
+	/**
+	 * Are report files written asynchronously.
+	 * 
+	 * @return Async report status
+	 */
+	public boolean isAsyncReport() {
+		return asyncReport;
+	}
+
+	/**
+	 * Returns executor of async report tasks or null if async report is
+	 * disabled.
+	 * 
+	 * @return The async executor
+	 */
+	public SebAsyncExecutor getAsyncExecutor() {
+		return asyncExecutor;
+	}
+
+	/**
+	 * Waits until all asynchronously written report files are stored and
+	 * async safe listeners notified, then triggers save events of written
+	 * files. Does nothing if async report is disabled.
+	 * 
+	 * @return Seb instance
+	 * @throws SebException
+	 *             If some report task failed
+	 */
+	public Seb flushReports() {
+		if (asyncExecutor != null) {
+			try {
+				asyncExecutor.flush();
+			} finally {
+				triggerWrittenEvents();
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Returns cache of found elements or null if element cache is disabled.
+	 * 
+	 * @return The element cache
+	 */
+	public SebElementLocatorCache getElementLocatorCache() {
+		return elementLocatorCache;
+	}
+
+	/**
+	 * Is url of last navigation used for page url verification.
+	 * 
+	 * @return Navigated url reuse status
+	 */
+	public boolean isReuseNavigatedUrl() {
+		return reuseNavigatedUrl;
+	}
+
+	/**
+	 * Returns url of last navigation if it is reused and nothing could change
+	 * it since, null otherwise.
+	 * 
+	 * @return The navigated url or null
+	 */
+	public String getNavigatedUrl() {
+		return pageUrlTracker == null ? null : pageUrlTracker.getUrl();
+	}
+
+	/**
+	 * Forgets url of last navigation. It is called when location could
+	 * change without driver event, e.g. on form submit.
+	 */
+	public void forgetNavigatedUrl() {
+		if (pageUrlTracker != null)
+			pageUrlTracker.forget();
+	}
+
 	public JavascriptLibrary getJavascriptLibrary() {
 		return javascriptLibrary;
 	}
 
+	/**
+	 * Executes given script using driver. It throws {@link SebException} if
+	 * driver is not implementing {@link JavascriptExecutor}.
+	 * 
+	 * @param script
+	 *            The script to execute
+	 * @param args
+	 *            The script arguments
+	 * @return The script result
+	 */
+	public Object executeScript(String script, Object... args) {
+		WebDriver driver = getDriver();
+		if (!(driver instanceof JavascriptExecutor))
+			throw new SebException("Executing script is supported with JavascriptExecutor driver only, this is "
+					+ driver.getClass());
+		return ((JavascriptExecutor) driver).executeScript(script, args);
+	}
+
+	/**
+	 * Executes given asynchronous script using driver. Driver script timeout
+	 * is raised for this call when it is shorter than given timeout, so the
+	 * script can wait in browser. Timeout set by user is restored after the
+	 * call, see {@link SebEventFiringWebDriver}. It throws
+	 * {@link SebException} if driver is not implementing
+	 * {@link JavascriptExecutor}.
+	 * 
+	 * @param timeoutMillis
+	 *            The time script is allowed to run in milliseconds
+	 * @param script
+	 *            The script to execute
+	 * @param args
+	 *            The script arguments
+	 * @return The script result
+	 */
+	public Object executeAsyncScript(long timeoutMillis, String script, Object... args) {
+		WebDriver driver = getDriver();
+		if (!(driver instanceof JavascriptExecutor))
+			throw new SebException("Executing script is supported with JavascriptExecutor driver only, this is "
+					+ driver.getClass());
+		if (driver instanceof SebEventFiringWebDriver)
+			return ((SebEventFiringWebDriver) driver).executeAsyncScript(timeoutMillis + SCRIPT_TIMEOUT_RESERVE,
+					script, args);
+		return ((JavascriptExecutor) driver).executeAsyncScript(script, args);
+	}
+
 	public ElementLocator createElementLocator(SearchContext searchContext, Field field) {
+		if (elementLocatorCache != null || composeLocators) {
+			Annotations annotations = new Annotations(field);
+			return createElementLocator(searchContext, annotations.buildBy(), annotations.isLookupCached());
+		}
 		return new DefaultElementLocator(searchContext, field);
 	}
 
@@ -569,6 +1115,8 @@ public class Seb implements SebContext {
 	}
 
 	public ElementLocator createElementLocator(SearchContext searchContext, By by, boolean lookupCached) {
+		if (elementLocatorCache != null || composeLocators)
+			return new SebElementLocator(searchContext, by, lookupCached, elementLocatorCache, composeLocators);
 		return new DefaultElementLocator(searchContext, new AbstractAnnotations() {
 			@Override
 			public boolean isLookupCached() {
@@ -594,7 +1142,19 @@ public class Seb implements SebContext {
 			driver.quit();
 			triggerEvent(constructEvent(AfterDriverQuitEvent.class));
 		}
+		if (waitStatistics.getWaitCount() > 0)
+			log(Level.FINE, () -> "Wait statistics: " + waitStatistics);
 		triggerEvent(constructEvent(AfterSebQuitEvent.class));
+		try {
+			if (asyncExecutor != null)
+				asyncExecutor.shutdown();
+		} finally {
+			triggerWrittenEvents();
+			if (allocatedReportDir != null) {
+				fileAllocator.release(allocatedReportDir);
+				allocatedReportDir = null;
+			}
+		}
 	}
 
 	/**
@@ -619,6 +1179,11 @@ public class Seb implements SebContext {
 		triggerEvent(constructEvent(OnReportEvent.class, context).with(label));
 	}
 
+	@Override
+	public boolean isLoggable(Level level) {
+		return (logLevel == null || level.intValue() >= logLevel.intValue()) && isSubscribed(LogEvent.class);
+	}
+
 	/**
 	 * Triggers {@link LogEvent} with given context, level and message.
 	 * 
@@ -630,7 +1195,8 @@ public class Seb implements SebContext {
 	 *            The log message
 	 */
 	public void log(SebContext context, Level level, String message) {
-		triggerEvent(constructEvent(LogEvent.class, context).with(level, message));
+		if (isLoggable(level))
+			triggerEvent(constructEvent(LogEvent.class, context).with(level, message));
 	}
 
 	/**
@@ -644,7 +1210,8 @@ public class Seb implements SebContext {
 	 *            The log throwable
 	 */
 	public void log(SebContext context, Level level, Throwable throwable) {
-		triggerEvent(constructEvent(LogEvent.class, context).with(level, throwable));
+		if (isLoggable(level))
+			triggerEvent(constructEvent(LogEvent.class, context).with(level, throwable));
 	}
 
 	/**
@@ -661,7 +1228,42 @@ public class Seb implements SebContext {
 	 *            The log throwable
 	 */
 	public void log(SebContext context, Level level, String message, Throwable throwable) {
-		triggerEvent(constructEvent(LogEvent.class, context).with(level, message, throwable));
+		if (isLoggable(level))
+			triggerEvent(constructEvent(LogEvent.class, context).with(level, message, throwable));
+	}
+
+	/**
+	 * Triggers {@link LogEvent} with given context, level and message built
+	 * only if the level is loggable.
+	 * 
+	 * @param context
+	 *            The log context
+	 * @param level
+	 *            The log level
+	 * @param message
+	 *            The log message supplier
+	 */
+	public void log(SebContext context, Level level, Supplier<String> message) {
+		if (isLoggable(level))
+			triggerEvent(constructEvent(LogEvent.class, context).with(level, message.get()));
+	}
+
+	/**
+	 * Triggers {@link LogEvent} with given context, level, throwable and
+	 * message built only if the level is loggable.
+	 * 
+	 * @param context
+	 *            The log context
+	 * @param level
+	 *            The log level
+	 * @param message
+	 *            The log message supplier
+	 * @param throwable
+	 *            The log throwable
+	 */
+	public void log(SebContext context, Level level, Supplier<String> message, Throwable throwable) {
+		if (isLoggable(level))
+			triggerEvent(constructEvent(LogEvent.class, context).with(level, message.get(), throwable));
 	}
 
 	/**
@@ -675,9 +1277,9 @@ public class Seb implements SebContext {
 	 * @return The event instance
 	 */
 	@SuppressWarnings("unchecked")
-	public synchronized <T extends SebEvent> T constructEvent(Class<T> eventCls, SebContext context) {
+	public <T extends SebEvent> T constructEvent(Class<T> eventCls, SebContext context) {
 		try {
-			return (T) eventCls.getConstructor().newInstance().with(context, LocalDateTime.now());
+			return (T) constructorCache.newInstance(eventCls).with(context, LocalDateTime.now());
 		} catch (Exception e) {
 			throw new EventConstructException("Unable to construct event " + eventCls.getName(), e);
 		}
@@ -747,9 +1349,10 @@ public class Seb implements SebContext {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T extends Page> T goToSafely(Class<T> page) {
 		try {
-			return goTo(page);
+			return (T) constructPage(page).goTo(false);
 		} catch (WebDriverException e) {
 			log(Level.INFO, "Unable to SAFELY go to page " + page, e);
 			return null;
@@ -757,9 +1360,10 @@ public class Seb implements SebContext {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T extends Page> T goToSafely(T page) {
 		try {
-			return goTo(page);
+			return (T) page.goTo(false);
 		} catch (WebDriverException e) {
 			log(Level.INFO, "Unable to SAFELY go to page " + page, e);
 			return null;
@@ -767,9 +1371,10 @@ public class Seb implements SebContext {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T extends Page> T initPageSafely(Class<T> page) {
 		try {
-			return initPage(page);
+			return (T) constructPage(page).init(false);
 		} catch (WebDriverException e) {
 			log(Level.INFO, "Unable to SAFELY init page " + page, e);
 			return null;
@@ -777,9 +1382,10 @@ public class Seb implements SebContext {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T extends Page> T initPageSafely(T page) {
 		try {
-			return initPage(page);
+			return (T) page.init(false);
 		} catch (WebDriverException e) {
 			log(Level.INFO, "Unable to SAFELY init page " + page, e);
 			return null;
@@ -789,7 +1395,7 @@ public class Seb implements SebContext {
 	@Override
 	public Page initOnePageSafely(Object... pages) {
 		try {
-			return initOnePage(pages);
+			return initOnePage(false, pages);
 		} catch (WebDriverException e) {
 			log(Level.INFO, "Unable to SAFELY init any of given pages " + String.join(", ",
 					Arrays.asList(pages).stream().map(p -> p.toString()).collect(Collectors.toList())), e);
@@ -822,28 +1428,118 @@ public class Seb implements SebContext {
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public Page initOnePage(Object... pages) {
-		Page verifiedPage = null;
+		return initOnePage(true, pages);
+	}
+
+	/**
+	 * Initializes first matching page same as {@link #initOnePage(Object...)}.
+	 * 
+	 * @param persistArtifacts
+	 *            Persist retained artifacts if none of pages is verified
+	 * @param pages
+	 *            The page classes or pages to initialize
+	 * @return The verified page
+	 */
+	@SuppressWarnings("unchecked")
+	protected Page initOnePage(boolean persistArtifacts, Object... pages) {
+		List<Page> candidates = new ArrayList<>(pages.length);
 		for (Object page : pages) {
 			if (page instanceof Page) {
-				verifiedPage = initPageSafely((Page) page);
+				candidates.add((Page) page);
 			} else {
-				verifiedPage = initPageSafely((Class<? extends Page>) page);
+				try {
+					candidates.add(constructPage((Class<? extends Page>) page));
+				} catch (WebDriverException e) {
+					log(Level.INFO, "Unable to SAFELY init page " + page, e);
+				}
 			}
+		}
+		// signatures are checked when page is ready, so previous page is not matched during navigation
+		boolean signed = candidates.stream().anyMatch(p -> p.getSignature() != null);
+		if (signed)
+			waitBeforePageInit(candidates);
+		boolean[] matches = matchPageSignatures(candidates);
+		for (int i = 0; i < candidates.size(); i++) {
+			if (!matches[i])
+				continue;
+			Page verifiedPage = initPageSafely(candidates.get(i), !signed);
 			if (verifiedPage != null)
 				return verifiedPage;
 		}
+		// signature can match page which fails verification, other pages are tried then
+		for (int i = 0; i < candidates.size(); i++) {
+			if (matches[i])
+				continue;
+			Page verifiedPage = initPageSafely(candidates.get(i), false);
+			if (verifiedPage != null)
+				return verifiedPage;
+		}
+		if (persistArtifacts)
+			persistArtifacts();
 		throw new VerificationException("Unable to init any of given pages "
 				+ String.join(", ", Arrays.asList(pages).stream().map(p -> p.toString()).collect(Collectors.toList())));
 	}
 
+	/**
+	 * Waits before initialization of given pages once, using page with the
+	 * longest wait before page initialization timeout.
+	 * 
+	 * @param pages
+	 *            The candidate pages
+	 */
+	protected void waitBeforePageInit(List<Page> pages) {
+		Page longest = null;
+		for (Page page : pages) {
+			if (longest == null || page.getWaitBeforePageInitTimeout() > longest.getWaitBeforePageInitTimeout())
+				longest = page;
+		}
+		if (longest != null)
+			longest.waitBeforePageInit();
+	}
+
+	protected Page initPageSafely(Page page, boolean waitBeforeInit) {
+		try {
+			return waitBeforeInit ? page.init(false) : page.init(false, false);
+		} catch (WebDriverException e) {
+			log(Level.INFO, "Unable to SAFELY init page " + page, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Checks signatures of given pages in one script call. Pages without
+	 * signature always match. All pages match when no signature matches or
+	 * signatures can not be checked, so they are initialized as without
+	 * signatures.
+	 * 
+	 * @param pages
+	 *            The candidate pages
+	 * @return The match flags in pages order
+	 */
+	protected boolean[] matchPageSignatures(List<Page> pages) {
+		boolean[] matches = new boolean[pages.size()];
+		List<PageSignature> signatures = pages.stream().map(Page::getSignature).collect(Collectors.toList());
+		if (signatures.stream().anyMatch(s -> s != null)) {
+			try {
+				matches = PageSignature.match(this, signatures);
+			} catch (WebDriverException e) {
+				log(Level.FINE, "Unable to check page signatures " + signatures, e);
+			}
+			for (boolean match : matches) {
+				if (match)
+					return matches;
+			}
+		}
+		Arrays.fill(matches, true);
+		return matches;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T extends Page> T constructPage(Class<T> page) {
 		try {
-			Constructor<T> ctor = page.getConstructor();
-			return (T) ctor.newInstance().with(this);
+			return (T) constructorCache.newInstance(page).with(this);
 		} catch (Exception e) {
 			throw new PageConstructException("Unable to construct page " + page.getName(), e);
 		}
@@ -868,12 +1564,9 @@ public class Seb implements SebContext {
 			boolean optional) {
 		try {
 			if (optional) {
-				element = (Class<T>) new ByteBuddy().subclass(element).method(ElementMatchers.isPublic())
-						.intercept(MethodDelegation.to(SebElementInterceptor.class).andThen(SuperMethodCall.INSTANCE))
-						.make().load(context.getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+				element = (Class<T>) elementLazyInitCache.getLazyInitClass(element, context.getClass().getClassLoader());
 			}
-			Constructor<T> ctor = element.getConstructor();
-			return (T) ctor.newInstance().with(context, webElement, optional);
+			return (T) constructorCache.newInstance(element).with(context, webElement, optional);
 		} catch (Exception e) {
 			throw new SebElementConstructException("Unable to construct module " + element.getName(), e);
 		}
@@ -893,15 +1586,17 @@ public class Seb implements SebContext {
 	@SuppressWarnings("unchecked")
 	public <T extends Logic> T constructLogic(Class<T> logic, SebContext context) {
 		try {
-			Constructor<T> ctor = logic.getConstructor();
-			return (T) ctor.newInstance().with(context);
+			return (T) constructorCache.newInstance(logic).with(context);
 		} catch (Exception e) {
 			throw new LogicConstructException("Unable to construct logic " + logic.getName(), e);
 		}
 	}
 
 	public void initElements(SebContext context) {
-		PageFactory.initElements(new SebFieldDecorator(context), context);
+		for (SebElementsInitializer<SebContext> initializer : elementsInitializerCache
+				.getInitializers(context.getClass(), !SebFieldDecorator.isSebFieldLocatorOverridden(getClass()))) {
+			initializer.initElements(context);
+		}
 	}
 
 	public SebAlert getAlert(SebContext context) {
@@ -950,6 +1645,20 @@ public class Seb implements SebContext {
 		return elementLoader.find(context, by, elementCls);
 	}
 
+	public SebElementProperties fetch(SebContext context, List<? extends WebElement> elements,
+			String... properties) {
+		List<List<String>> specs = SebElementProperties.toScriptArgument(properties);
+		List<? extends WebElement> webElements = elements instanceof SebElementList
+				? ((SebElementList) elements).getWebElements() : elements;
+		Object result = executeScript(SebElementProperties.SCRIPT, webElements, specs);
+		return SebElementProperties.fromScriptResult(Arrays.asList(properties), result);
+	}
+
+	@Override
+	public <T extends SebElement> List<T> findSnapshot(SebContext context, By by, Class<T> elementCls) {
+		return elementLoader.findSnapshot(context, by, elementCls);
+	}
+
 	@Override
 	public <T extends SebElement> T findOne(SebContext context, By by, Class<T> elementCls, boolean optional) {
 		return elementLoader.findOne(context, by, elementCls, optional);
@@ -962,8 +1671,22 @@ public class Seb implements SebContext {
 
 	@Override
 	public void triggerEvent(SebEvent event) {
+		triggerWrittenEvents();
+		notifyListeners(event);
+	}
+
+	protected void notifyListeners(SebEvent event) {
 		event.init();
-		listeners.forEach(l -> event.notifyEnabled(l));
+		if (asyncExecutor == null || asyncExecutor.isShutdown()) {
+			listeners.forEach(l -> event.notifyEnabled(l));
+			return;
+		}
+		listeners.forEach(l -> {
+			if (l.isAsyncSafe())
+				asyncExecutor.submit(() -> event.notifyEnabled(l));
+			else
+				event.notifyEnabled(l);
+		});
 	}
 
 	@Override
@@ -978,22 +1701,156 @@ public class Seb implements SebContext {
 
 	@Override
 	public Path saveFile(String content, String name, String extension) {
-		return saveFile(content.getBytes(), name, extension);
+		return saveBytes(content::getBytes, name, extension);
 	}
 
 	@Override
 	public Path saveFile(byte[] bytes, String name, String extension) {
+		return saveBytes(() -> bytes, name, extension);
+	}
+
+	/**
+	 * Saves bytes into unique file in report directory. When async report
+	 * is enabled, file path is reserved immediately and bytes are encoded
+	 * and written on background thread. {@link OnFileSaveEvent} is triggered
+	 * once the file is written, see {@link #writeFile(Runnable, SebEvent)}.
+	 * 
+	 * When report deduplication is enabled, only logical file name is
+	 * reserved and content is stored in {@link #getBlobStore()}.
+	 * 
+	 * @param bytes
+	 *            The bytes supplier
+	 * @param name
+	 *            The file name
+	 * @param extension
+	 *            The file extension
+	 * @return The file path or null if Seb is not reported
+	 */
+	protected Path saveBytes(Supplier<byte[]> bytes, String name, String extension) {
 		if (!reported)
 			return null;
+		if (blobStore != null)
+			return saveBlob(out -> out.write(bytes.get()), name, extension);
+		Path path;
 		try {
-			Path uniquePath = getUniqueFilePath(name, extension);
-			Files.createDirectories(uniquePath.getParent());
-			Path path = Files.write(uniquePath, bytes);
-			triggerEvent(constructEvent(OnFileSaveEvent.class, this).with(path.toFile()));
-			return path;
+			path = reserveUniqueFilePath(name, extension);
 		} catch (IOException e) {
 			throw new SebException("Unable to save file " + name, e);
 		}
+		writeFile(() -> {
+			try {
+				Files.write(path, bytes.get());
+			} catch (IOException e) {
+				throw new SebException("Unable to save file " + path, e);
+			}
+		}, constructEvent(OnFileSaveEvent.class, this).with(path.toFile()));
+		return path;
+	}
+
+	/**
+	 * Runs file write and triggers save event after it. When async report is
+	 * enabled, only write runs on report thread. Event is queued once the
+	 * file is complete and triggered on the calling thread by next
+	 * {@link #triggerEvent(SebEvent)}, {@link #flushReports()} or
+	 * {@link #quit()}, so listeners which are not async safe never run on
+	 * report thread. Event is not triggered if write fails.
+	 * 
+	 * @param write
+	 *            The file write
+	 * @param event
+	 *            The event triggered after write
+	 */
+	protected void writeFile(Runnable write, SebEvent event) {
+		if (asyncExecutor == null || asyncExecutor.isShutdown()) {
+			write.run();
+			triggerEvent(event);
+			return;
+		}
+		asyncExecutor.submit(() -> {
+			write.run();
+			writtenEvents.add(event);
+		});
+	}
+
+	/**
+	 * Triggers events of files written on report thread since last call. It
+	 * does nothing on report thread.
+	 */
+	protected void triggerWrittenEvents() {
+		if (asyncExecutor != null && asyncExecutor.isWorkerThread())
+			return;
+		SebEvent event;
+		while ((event = writtenEvents.poll()) != null)
+			notifyListeners(event);
+	}
+
+	@Override
+	public Path retainFile(SebFileWriter writer, String name, String extension) {
+		if (artifactRing == null)
+			return saveFile(writer, name, extension);
+		if (reported)
+			artifactRing.add(writer, name, extension);
+		return null;
+	}
+
+	@Override
+	public Path saveFile(SebFileWriter writer, String name, String extension) {
+		if (!reported)
+			return null;
+		if (blobStore != null)
+			return saveBlob(writer, name, extension);
+		Path path;
+		try {
+			path = reserveUniqueFilePath(name, extension);
+		} catch (IOException e) {
+			throw new SebException("Unable to save file " + name, e);
+		}
+		writeFile(() -> {
+			try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+				writer.write(out);
+			} catch (IOException e) {
+				throw new SebException("Unable to save file " + path, e);
+			}
+		}, constructEvent(OnFileSaveEvent.class, this).with(path.toFile()));
+		return path;
+	}
+
+	/**
+	 * Reserves logical file and stores content written by writer in
+	 * {@link #getBlobStore()}. Content is written, hashed and linked on
+	 * report thread when async report is enabled.
+	 * 
+	 * @param writer
+	 *            The file writer
+	 * @param name
+	 *            The file name
+	 * @param extension
+	 *            The file extension
+	 * @return The logical file path
+	 */
+	protected Path saveBlob(SebFileWriter writer, String name, String extension) {
+		Path path;
+		try {
+			path = reserveUniqueFilePath(name, extension);
+		} catch (IOException e) {
+			throw new SebException("Unable to save file " + name, e);
+		}
+		OnFileSaveEvent event = constructEvent(OnFileSaveEvent.class, this).with(path.toFile());
+		writeFile(() -> {
+			try {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				writer.write(out);
+				byte[] bytes = out.toByteArray();
+				Path blob = blobStore.getBlobPath(bytes, extension);
+				blobStore.store(blob, bytes);
+				blobStore.link(path, blob, bytes);
+				blobStore.index(path, blob);
+				event.with(path.toFile(), blob.toFile());
+			} catch (IOException e) {
+				throw new SebException("Unable to save file " + path, e);
+			}
+		}, event);
+		return path;
 	}
 
 	@Override
@@ -1001,9 +1858,8 @@ public class Seb implements SebContext {
 		if (!reported)
 			return null;
 		try {
-			Path uniquePath = getUniqueFilePath(name, extension);
-			Files.createDirectories(uniquePath.getParent());
-			Path path = Files.copy(file.toPath(), uniquePath);
+			Path path = Files.copy(file.toPath(), reserveUniqueFilePath(name, extension),
+					StandardCopyOption.REPLACE_EXISTING);
 			triggerEvent(constructEvent(OnFileSaveEvent.class, this).with(path.toFile()));
 			return path;
 		} catch (IOException e) {
@@ -1019,4 +1875,41 @@ public class Seb implements SebContext {
 		return utils.getUniqueFilePath(reportDir, name, extension);
 	}
 
+	/**
+	 * Creates empty unique file in report directory for content written
+	 * continuously. No {@link OnFileSaveEvent} is triggered, it should be
+	 * triggered by writer when file is complete.
+	 * 
+	 * @param name
+	 *            The file name
+	 * @param extension
+	 *            The file extension
+	 * @return The file path or null if Seb is not reported
+	 */
+	public Path createFile(String name, String extension) {
+		if (!reported)
+			return null;
+		try {
+			return reserveUniqueFilePath(name, extension);
+		} catch (IOException e) {
+			throw new SebException("Unable to create file " + name, e);
+		}
+	}
+
+	/**
+	 * Creates empty unique file using {@link #getFileAllocator()}, so the
+	 * path is not used by other file before its content is written.
+	 * 
+	 * @param name
+	 *            The file name
+	 * @param extension
+	 *            The file extension
+	 * @return The reserved path
+	 * @throws IOException
+	 *             If file can not be created
+	 */
+	protected Path reserveUniqueFilePath(String name, String extension) throws IOException {
+		return fileAllocator.allocate(reportDir, name, extension);
+	}
+
 }
@@ -0,0 +1,138 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import cz.etnetera.seb.configuration.BasicSebConfiguration;
+import cz.etnetera.seb.event.impl.OnExceptionEvent;
+import cz.etnetera.seb.event.impl.OnReportEvent;
+import cz.etnetera.seb.listener.SebListener;
+
+/**
+ * Keeps last report artifacts like screenshots and page sources in memory
+ * instead of saving them. Artifacts are saved only when something fails,
+ * on {@link OnExceptionEvent}, {@link VerificationException} thrown from
+ * page verification and on explicit {@link SebContext#report(String)}.
+ * Oldest artifacts are dropped when ring is full.
+ * 
+ * It is enabled using {@link BasicSebConfiguration#ARTIFACTS_RETENTION} and
+ * registered as the last listener, so artifacts captured on report are
+ * saved too.
+ */
+public class SebArtifactRing extends SebListener {
+
+	protected final int capacity;
+
+	protected final Deque<Artifact> artifacts;
+
+	protected long droppedCount;
+
+	public SebArtifactRing(int capacity) {
+		this.capacity = capacity;
+		artifacts = new ArrayDeque<>(capacity);
+	}
+
+	/**
+	 * Adds artifact, drops the oldest one if ring is full.
+	 * 
+	 * @param writer
+	 *            The artifact content writer, it should hold compressed
+	 *            content
+	 * @param name
+	 *            The file name
+	 * @param extension
+	 *            The file extension
+	 */
+	public synchronized void add(SebFileWriter writer, String name, String extension) {
+		if (artifacts.size() >= capacity) {
+			artifacts.removeFirst();
+			droppedCount++;
+		}
+		artifacts.addLast(new Artifact(writer, name, extension));
+	}
+
+	/**
+	 * Saves all kept artifacts in order they were added and empties the
+	 * ring.
+	 * 
+	 * @return The saved file paths
+	 */
+	public List<Path> persist() {
+		List<Artifact> drained;
+		synchronized (this) {
+			drained = new ArrayList<>(artifacts);
+			artifacts.clear();
+		}
+		List<Path> paths = new ArrayList<>(drained.size());
+		for (Artifact artifact : drained) {
+			Path path = seb.saveFile(artifact.writer, artifact.name, artifact.extension);
+			if (path != null)
+				paths.add(path);
+		}
+		return paths;
+	}
+
+	public synchronized int size() {
+		return artifacts.size();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns count of artifacts dropped because ring was full.
+	 * 
+	 * @return The dropped artifacts count
+	 */
+	public synchronized long getDroppedCount() {
+		return droppedCount;
+	}
+
+	@Override
+	public void onException(OnExceptionEvent event) {
+		persist();
+	}
+
+	@Override
+	public void onReport(OnReportEvent event) {
+		persist();
+	}
+
+	/**
+	 * Artifact waiting in ring.
+	 */
+	protected static class Artifact {
+
+		protected final SebFileWriter writer;
+
+		protected final String name;
+
+		protected final String extension;
+
+		public Artifact(SebFileWriter writer, String name, String extension) {
+			this.writer = writer;
+			this.name = name;
+			this.extension = extension;
+		}
+
+	}
+
+}
@@ -0,0 +1,213 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Runs report tasks like file writing and notification of async safe
+ * listeners on one background thread. Tasks are run in order of
+ * submission. Queue is bounded, so submitting thread waits when writing can
+ * not keep up with reporting.
+ *
+ * Task failures are collected and thrown from {@link #flush()}. Tasks
+ * submitted before {@link #shutdown()} are always run, later submission
+ * fails.
+ */
+public class SebAsyncExecutor {
+
+	/**
+	 * Task which stops worker thread after all tasks queued before it.
+	 */
+	protected static final Runnable STOP = () -> {
+	};
+
+	protected final BlockingQueue<Runnable> queue;
+
+	protected final Thread worker;
+
+	protected final List<Throwable> failures = new ArrayList<>();
+
+	/**
+	 * Submissions hold read lock, shutdown takes write lock, so no task is
+	 * queued after worker is stopped.
+	 */
+	protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	protected volatile boolean shutdown;
+
+	/**
+	 * Constructs a new executor and starts its worker thread.
+	 * 
+	 * @param name
+	 *            The worker thread name
+	 * @param queueSize
+	 *            Maximum count of waiting tasks
+	 */
+	public SebAsyncExecutor(String name, int queueSize) {
+		queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+		worker = new Thread(this::work, name);
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * Submits task. Waits when queue is full. Task submitted from worker
+	 * thread itself is run immediately, so tasks can submit other tasks
+	 * without blocking.
+	 * 
+	 * @param task
+	 *            The task
+	 * @throws SebException
+	 *             If executor is shut down
+	 */
+	public void submit(Runnable task) {
+		if (isWorkerThread()) {
+			run(task);
+			return;
+		}
+		lock.readLock().lock();
+		try {
+			if (shutdown)
+				throw new SebException("Async executor " + worker.getName() + " is shut down");
+			put(task);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Waits until all submitted tasks are finished.
+	 * 
+	 * @throws SebException
+	 *             If some task failed since last flush
+	 */
+	public void flush() {
+		if (!isWorkerThread() && !shutdown) {
+			CountDownLatch latch = new CountDownLatch(1);
+			submit(latch::countDown);
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SebException("Interrupted while waiting for report tasks", e);
+			}
+		}
+		throwFailures();
+	}
+
+	/**
+	 * Finishes all submitted tasks and stops worker thread. Tasks submitted
+	 * later fail.
+	 * 
+	 * @throws SebException
+	 *             If some task failed since last flush
+	 */
+	public void shutdown() {
+		lock.writeLock().lock();
+		try {
+			if (shutdown)
+				return;
+			shutdown = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		if (!isWorkerThread()) {
+			put(STOP);
+			try {
+				worker.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SebException("Interrupted while waiting for report tasks", e);
+			}
+		}
+		throwFailures();
+	}
+
+	/**
+	 * Returns count of tasks waiting in queue.
+	 * 
+	 * @return The waiting tasks count
+	 */
+	public int getQueuedCount() {
+		return queue.size();
+	}
+
+	public boolean isShutdown() {
+		return shutdown;
+	}
+
+	/**
+	 * Returns true if it is called from worker thread.
+	 * 
+	 * @return Worker thread status
+	 */
+	public boolean isWorkerThread() {
+		return Thread.currentThread() == worker;
+	}
+
+	protected void put(Runnable task) {
+		try {
+			queue.put(task);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SebException("Interrupted while submitting report task", e);
+		}
+	}
+
+	protected void throwFailures() {
+		List<Throwable> flushed;
+		synchronized (failures) {
+			if (failures.isEmpty())
+				return;
+			flushed = new ArrayList<>(failures);
+			failures.clear();
+		}
+		SebException e = new SebException("Report task failed", flushed.get(0));
+		flushed.subList(1, flushed.size()).forEach(e::addSuppressed);
+		throw e;
+	}
+
+	protected void work() {
+		while (true) {
+			Runnable task;
+			try {
+				task = queue.take();
+			} catch (InterruptedException e) {
+				continue;
+			}
+			if (task == STOP)
+				return;
+			run(task);
+		}
+	}
+
+	protected void run(Runnable task) {
+		try {
+			task.run();
+		} catch (Throwable e) {
+			synchronized (failures) {
+				failures.add(e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,212 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content addressed store of report files. Every distinct content is
+ * written once into <code>blobs/&lt;sha256&gt;.&lt;extension&gt;</code>
+ * and logical file names are mapped to blobs in tab separated
+ * <code>blobs/index.tsv</code> file. Logical files are hard links to blobs,
+ * so they can be read as usual without taking more space, they are plain
+ * copies if file system does not support links.
+ */
+public class SebBlobStore {
+
+	public static final String BLOBS_DIR = "blobs";
+
+	public static final String INDEX_FILE = "index.tsv";
+
+	protected static final String HASH_ALGORITHM = "SHA-256";
+
+	protected static final String LINK_SUFFIX = ".link";
+
+	protected static final String TEMP_SUFFIX = ".tmp";
+
+	protected static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	protected final Path root;
+
+	protected final Path dir;
+
+	protected final Path index;
+
+	protected final AtomicLong storedCount = new AtomicLong();
+
+	protected final AtomicLong deduplicatedCount = new AtomicLong();
+
+	protected final AtomicLong linkedCount = new AtomicLong();
+
+	/**
+	 * Constructs a new store in given report directory.
+	 * 
+	 * @param root
+	 *            The report directory
+	 */
+	public SebBlobStore(Path root) {
+		this.root = root;
+		dir = root.resolve(BLOBS_DIR);
+		index = dir.resolve(INDEX_FILE);
+	}
+
+	/**
+	 * Returns blob path of given content.
+	 * 
+	 * @param bytes
+	 *            The content
+	 * @param extension
+	 *            The file extension
+	 * @return The blob path
+	 */
+	public Path getBlobPath(byte[] bytes, String extension) {
+		String name = hash(bytes);
+		return dir.resolve(extension == null ? name : name + "." + extension);
+	}
+
+	/**
+	 * Writes content into blob unless it is stored already. Content is
+	 * written into temporary file moved atomically into place, so failed
+	 * write never leaves partial blob.
+	 * 
+	 * @param blob
+	 *            The blob path returned by
+	 *            {@link #getBlobPath(byte[], String)}
+	 * @param bytes
+	 *            The content
+	 * @return True if blob was written, false if it existed
+	 * @throws IOException
+	 *             If blob can not be written
+	 */
+	public boolean store(Path blob, byte[] bytes) throws IOException {
+		if (Files.exists(blob)) {
+			deduplicatedCount.incrementAndGet();
+			return false;
+		}
+		Files.createDirectories(dir);
+		// blob is complete or missing, concurrent stores move same content
+		Path temp = Files.createTempFile(dir, blob.getFileName().toString(), TEMP_SUFFIX);
+		try {
+			Files.write(temp, bytes);
+			Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		storedCount.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Replaces logical file with hard link to blob. Content is copied if link
+	 * can not be created.
+	 * 
+	 * @param file
+	 *            The logical file path
+	 * @param blob
+	 *            The stored blob path
+	 * @param bytes
+	 *            The content
+	 * @return True if link was created, false if content was copied
+	 * @throws IOException
+	 *             If file can not be written
+	 */
+	public boolean link(Path file, Path blob, byte[] bytes) throws IOException {
+		Path link = file.resolveSibling(file.getFileName() + LINK_SUFFIX);
+		try {
+			Files.deleteIfExists(link);
+			Files.createLink(link, blob);
+			Files.move(link, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			linkedCount.incrementAndGet();
+			return true;
+		} catch (UnsupportedOperationException | IOException e) {
+			Files.deleteIfExists(link);
+		}
+		Files.write(file, bytes);
+		return false;
+	}
+
+	/**
+	 * Appends mapping of logical file to blob into index.
+	 * 
+	 * @param file
+	 *            The logical file path
+	 * @param blob
+	 *            The blob path
+	 * @throws IOException
+	 *             If index can not be written
+	 */
+	public synchronized void index(Path file, Path blob) throws IOException {
+		Files.createDirectories(dir);
+		String line = root.relativize(file).toString() + "\t" + dir.relativize(blob).toString() + "\n";
+		Files.write(index, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND);
+	}
+
+	/**
+	 * Returns count of written blobs.
+	 * 
+	 * @return The written blobs count
+	 */
+	public long getStoredCount() {
+		return storedCount.get();
+	}
+
+	/**
+	 * Returns count of contents which were stored already.
+	 * 
+	 * @return The deduplicated contents count
+	 */
+	public long getDeduplicatedCount() {
+		return deduplicatedCount.get();
+	}
+
+	/**
+	 * Returns count of logical files linked to blobs.
+	 * 
+	 * @return The linked files count
+	 */
+	public long getLinkedCount() {
+		return linkedCount.get();
+	}
+
+	public Path getIndex() {
+		return index;
+	}
+
+	protected String hash(byte[] bytes) {
+		byte[] digest;
+		try {
+			digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(bytes);
+		} catch (NoSuchAlgorithmException e) {
+			throw new SebException("Hash algorithm " + HASH_ALGORITHM + " is not available", e);
+		}
+		char[] chars = new char[digest.length * 2];
+		for (int i = 0; i < digest.length; i++) {
+			chars[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+			chars[i * 2 + 1] = HEX[digest[i] & 0xf];
+		}
+		return new String(chars);
+	}
+
+}
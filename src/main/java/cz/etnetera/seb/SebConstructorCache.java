@@ -0,0 +1,90 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Caches no-argument constructors of events, pages, logics and elements
+ * constructed by {@link Seb}. Constructor is resolved once per class into
+ * {@link MethodHandle}, so instances are created without reflection and
+ * without locking. Classes which can not be accessed by public lookup are
+ * constructed reflectively as before.
+ */
+public class SebConstructorCache {
+
+	/**
+	 * Cache shared by all Seb instances.
+	 */
+	public static final SebConstructorCache SHARED = new SebConstructorCache();
+
+	protected static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class);
+
+	protected static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+
+	protected final ClassValue<Factory> factories = new ClassValue<Factory>() {
+		@Override
+		protected Factory computeValue(Class<?> type) {
+			return createFactory(type);
+		}
+	};
+
+	/**
+	 * Constructs a new instance of given class using its public no-argument
+	 * constructor.
+	 *
+	 * @param cls
+	 *            The class
+	 * @return The new instance
+	 * @throws Exception
+	 *             If construction fails, constructor exceptions are thrown
+	 *             directly
+	 */
+	public <T> T newInstance(Class<T> cls) throws Exception {
+		return cls.cast(factories.get(cls).newInstance());
+	}
+
+	protected Factory createFactory(Class<?> cls) {
+		MethodHandle constructor;
+		try {
+			constructor = MethodHandles.publicLookup().findConstructor(cls, CONSTRUCTOR_TYPE).asType(FACTORY_TYPE);
+		} catch (ReflectiveOperationException | SecurityException e) {
+			return () -> cls.getConstructor().newInstance();
+		}
+		return () -> {
+			try {
+				return (Object) constructor.invokeExact();
+			} catch (Exception | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new UndeclaredThrowableException(e);
+			}
+		};
+	}
+
+	/**
+	 * Creates new instances of one class.
+	 */
+	@FunctionalInterface
+	protected interface Factory {
+
+		Object newInstance() throws Exception;
+
+	}
+
+}
@@ -19,6 +19,7 @@ import java.lang.reflect.Field;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import org.openqa.selenium.By;
@@ -34,6 +35,8 @@ import org.openqa.selenium.support.ui.Sleeper;
 
 import cz.etnetera.seb.configuration.SebConfiguration;
 import cz.etnetera.seb.element.SebElement;
+import cz.etnetera.seb.element.SebElementProperties;
+import cz.etnetera.seb.element.SebElementSnapshotList;
 import cz.etnetera.seb.event.SebEvent;
 import cz.etnetera.seb.event.impl.LogEvent;
 import cz.etnetera.seb.event.impl.OnReportEvent;
@@ -388,6 +391,9 @@ public interface SebContext extends SearchContext, PropertySource, DataSource, W
 	 * initialize and verify them. First verified page is returned. If none of
 	 * the pages is verified {@link VerificationException} is thrown.
 	 * 
+	 * Pages with {@link Page#getSignature()} not matching current page are
+	 * skipped, signatures are checked together before any initialization.
+	 * 
 	 * @param pages
 	 *            The page classes or pages to initialize
 	 * @return The same page instance
@@ -541,6 +547,19 @@ public interface SebContext extends SearchContext, PropertySource, DataSource, W
 		getSeb().report(this, label);
 	}
 
+	/**
+	 * Returns true if message with given level is logged. It is false when
+	 * level is lower than {@link Seb#getLogLevel()} or nobody listens to
+	 * {@link LogEvent}.
+	 * 
+	 * @param level
+	 *            The log level
+	 * @return Loggable status
+	 */
+	default boolean isLoggable(Level level) {
+		return getSeb().isLoggable(level);
+	}
+
 	/**
 	 * Triggers {@link LogEvent} with given level and message.
 	 * 
@@ -579,6 +598,34 @@ public interface SebContext extends SearchContext, PropertySource, DataSource, W
 		getSeb().log(this, level, message, throwable);
 	}
 
+	/**
+	 * Triggers {@link LogEvent} with given level and message. Message is
+	 * built only if the level is loggable.
+	 * 
+	 * @param level
+	 *            The log level
+	 * @param message
+	 *            The log message supplier
+	 */
+	default void log(Level level, Supplier<String> message) {
+		getSeb().log(this, level, message);
+	}
+
+	/**
+	 * Triggers {@link LogEvent} with given level, message and throwable.
+	 * Message is built only if the level is loggable.
+	 * 
+	 * @param level
+	 *            The log level
+	 * @param message
+	 *            The log message supplier
+	 * @param throwable
+	 *            The log throwable
+	 */
+	default void log(Level level, Supplier<String> message, Throwable throwable) {
+		getSeb().log(this, level, message, throwable);
+	}
+
 	/**
 	 * Triggers {@link SebEvent}.
 	 * 
@@ -649,6 +696,40 @@ public interface SebContext extends SearchContext, PropertySource, DataSource, W
 		return getSeb().saveFile(file, name, extension);
 	}
 
+	/**
+	 * Saves content written by given writer into named file with extension.
+	 * Writer is called on background thread when async report is enabled,
+	 * so it must not use driver. If {@link Seb#isReported()} is
+	 * <code>false</code> no file is saved.
+	 * 
+	 * @param writer
+	 *            The content writer.
+	 * @param name
+	 *            The file name without extension.
+	 * @param extension
+	 *            The file extension.
+	 */
+	default Path saveFile(SebFileWriter writer, String name, String extension) {
+		return getSeb().saveFile(writer, name, extension);
+	}
+
+	/**
+	 * Keeps content written by given writer in {@link Seb#getArtifactRing()}
+	 * until failure or report. If artifacts retention is disabled, it is
+	 * same as {@link #saveFile(SebFileWriter, String, String)}.
+	 * 
+	 * @param writer
+	 *            The content writer, it is called when artifact is saved.
+	 * @param name
+	 *            The file name without extension.
+	 * @param extension
+	 *            The file extension.
+	 * @return The saved file path or null if file is not saved now.
+	 */
+	default Path retainFile(SebFileWriter writer, String name, String extension) {
+		return getSeb().retainFile(writer, name, extension);
+	}
+
 	/**
 	 * Returns Seb utilities instance.
 	 * 
@@ -718,6 +799,90 @@ public interface SebContext extends SearchContext, PropertySource, DataSource, W
 		return getSeb().find(context, by, elementCls);
 	}
 
+	/**
+	 * Find all elements within the current context using the given mechanism.
+	 * Elements are located once and kept in returned
+	 * {@link SebElementSnapshotList} until it is refreshed.
+	 * 
+	 * @param by
+	 *            The locating mechanism to use
+	 * @return A list of all {@link SebElement}s, or an empty list if nothing
+	 *         matches
+	 */
+	default List<SebElement> findSnapshot(By by) {
+		return getSeb().findSnapshot(this, by, SebElement.class);
+	}
+
+	/**
+	 * Find all elements within the given context using the given mechanism.
+	 * Elements are located once and kept in returned
+	 * {@link SebElementSnapshotList} until it is refreshed.
+	 * 
+	 * @param context
+	 *            The Seb context to search in
+	 * @param by
+	 *            The locating mechanism to use
+	 * @return A list of all {@link SebElement}s, or an empty list if nothing
+	 *         matches
+	 */
+	default List<SebElement> findSnapshot(SebContext context, By by) {
+		return getSeb().findSnapshot(context, by, SebElement.class);
+	}
+
+	/**
+	 * Find all elements within the current context using the given mechanism as
+	 * instances of the given {@link SebElement} or its subclass. Elements are
+	 * located once and kept in returned {@link SebElementSnapshotList} until
+	 * it is refreshed.
+	 * 
+	 * @param by
+	 *            The locating mechanism to use
+	 * @param elementCls
+	 *            The element class
+	 * @return A list of all {@link SebElement}s as instances of the given
+	 *         {@link SebElement} or its subclass, or an empty list if nothing
+	 *         matches
+	 */
+	default <T extends SebElement> List<T> findSnapshot(By by, Class<T> elementCls) {
+		return getSeb().findSnapshot(this, by, elementCls);
+	}
+
+	/**
+	 * Find all elements within the given context using the given mechanism as
+	 * instances of the given {@link SebElement} or its subclass. Elements are
+	 * located once and kept in returned {@link SebElementSnapshotList} until
+	 * it is refreshed.
+	 * 
+	 * @param context
+	 *            The Seb context to search in
+	 * @param by
+	 *            The locating mechanism to use
+	 * @param elementCls
+	 *            The element class
+	 * @return A list of all {@link SebElement}s as instances of the given
+	 *         {@link SebElement} or its subclass, or an empty list if nothing
+	 *         matches
+	 */
+	default <T extends SebElement> List<T> findSnapshot(SebContext context, By by, Class<T> elementCls) {
+		return getSeb().findSnapshot(context, by, elementCls);
+	}
+
+	/**
+	 * Fetches given properties of all given elements using one script call.
+	 * See {@link SebElementProperties} for supported properties. It works
+	 * only for {@link org.openqa.selenium.JavascriptExecutor} drivers.
+	 * 
+	 * @param elements
+	 *            The elements
+	 * @param properties
+	 *            The properties to fetch, e.g. <code>text</code> or
+	 *            <code>attr:href</code>
+	 * @return The properties table with one row per element
+	 */
+	default SebElementProperties fetch(List<? extends WebElement> elements, String... properties) {
+		return getSeb().fetch(this, elements, properties);
+	}
+
 	/**
 	 * Find the first element within the current context using the given
 	 * mechanism.
@@ -38,16 +38,33 @@ public class SebContextWait extends FluentWait<SebContext> {
 	
 	protected final Sleeper sleeper;
 	
+	protected final Clock clock;
+	
+	protected final PollingSleeper pollingSleeper;
+	
 	protected Duration timeout;
+	
+	protected int polls;
+	
+	protected long elapsed;
 
 	public SebContextWait(SebContext context, Clock clock, Sleeper sleeper, double timeout,
 			double retryInterval) {
-		super(context, clock, sleeper);
+		this(context, clock, sleeper, new PollingSleeper(clock, sleeper), timeout, retryInterval);
+	}
+
+	protected SebContextWait(SebContext context, Clock clock, Sleeper sleeper, PollingSleeper pollingSleeper,
+			double timeout, double retryInterval) {
+		super(context, clock, pollingSleeper);
 		withTimeout((long) (timeout * 1000), TimeUnit.MILLISECONDS);
 		pollingEvery((long) (retryInterval * 1000), TimeUnit.MILLISECONDS);
 		ignoring(NotFoundException.class);
 		this.context = context;
 		this.sleeper = sleeper;
+		this.clock = clock;
+		this.pollingSleeper = pollingSleeper;
+		Seb seb = context.getSeb();
+		withPolling(seb.getWaitPollingStrategy(), seb.getWaitPollingMaxInterval());
 	}
 
 	public SebContextWait(SebContext context, double timeout, double retryInterval) {
@@ -78,6 +95,35 @@ public class SebContextWait extends FluentWait<SebContext> {
 		throw ex;
 	}
 
+	/**
+	 * Repeatedly applies this instance's input value to the given function
+	 * same as {@link FluentWait#until(com.google.common.base.Function)},
+	 * sleeping between checks as {@link SebPollingStrategy} decides. Count of
+	 * checks and wait duration are recorded into
+	 * {@link Seb#getWaitStatistics()}.
+	 */
+	@Override
+	public <V> V until(com.google.common.base.Function<? super SebContext, V> isTrue) {
+		long start = clock.now();
+		boolean satisfied = false;
+		polls = 0;
+		pollingSleeper.start(start + timeout.in(TimeUnit.MILLISECONDS));
+		try {
+			V value = super.until(new com.google.common.base.Function<SebContext, V>() {
+				@Override
+				public V apply(SebContext input) {
+					polls++;
+					return isTrue.apply(input);
+				}
+			});
+			satisfied = true;
+			return value;
+		} finally {
+			elapsed = clock.now() - start;
+			context.getSeb().getWaitStatistics().record(polls, elapsed, satisfied);
+		}
+	}
+
 	/**
 	 * Until method using predicate functional interface. It solves ambiguity
 	 * when using basic until method without typed parameter.
@@ -123,7 +169,7 @@ public class SebContextWait extends FluentWait<SebContext> {
 	 *             If the timeout expires.
 	 */
 	public <V> V untilValid(Function<SebContext, V> isTrue) {
-		return super.until(new com.google.common.base.Function<SebContext, V>() {
+		return until(new com.google.common.base.Function<SebContext, V>() {
 			@Override
 			public V apply(SebContext input) {
 				return isTrue.apply(input);
@@ -131,6 +177,54 @@ public class SebContextWait extends FluentWait<SebContext> {
 		});
 	}
 	
+	/**
+	 * Waits until condition holds, letting the browser poll it. Browser
+	 * checks the condition on DOM mutations and animation frames within one
+	 * asynchronous script call, so there is no round trip per poll. If the
+	 * script can not be executed, e.g. page is navigated away in meantime,
+	 * remaining time is waited using standard polling. Conditions which can
+	 * not be evaluated in browser, see
+	 * {@link SebScriptCondition#isInBrowser()}, use standard polling only.
+	 *
+	 * @param condition
+	 *            The condition to wait on.
+	 * @throws TimeoutException
+	 *             If the timeout expires.
+	 */
+	public void untilInBrowser(SebScriptCondition condition) {
+		if (!condition.isInBrowser()) {
+			untilTrue(condition::test);
+			return;
+		}
+		long timeoutMillis = timeout.in(TimeUnit.MILLISECONDS);
+		long start = clock.now();
+		try {
+			boolean satisfied = condition.await(context, timeoutMillis);
+			polls = 1;
+			elapsed = clock.now() - start;
+			context.getSeb().getWaitStatistics().record(polls, elapsed, satisfied);
+			if (satisfied)
+				return;
+		} catch (WebDriverException e) {
+			long remaining = start + timeoutMillis - clock.now();
+			if (remaining <= 0)
+				throw timeoutException(getInBrowserTimeoutMessage(condition), e);
+			Duration original = timeout;
+			try {
+				withTimeout(remaining, TimeUnit.MILLISECONDS).untilTrue(condition::test);
+				return;
+			} finally {
+				withTimeout(original.in(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+			}
+		}
+		throw timeoutException(getInBrowserTimeoutMessage(condition), null);
+	}
+
+	protected String getInBrowserTimeoutMessage(SebScriptCondition condition) {
+		return String.format("Timed out after %d seconds waiting in browser for %s", timeout.in(TimeUnit.SECONDS),
+				condition);
+	}
+
 	/**
 	 * Sleeps for defined timeout without checking for any
 	 * condition.
@@ -145,6 +239,53 @@ public class SebContextWait extends FluentWait<SebContext> {
 		}
 	}
 
+	/**
+	 * Sets strategy deciding delays between condition checks.
+	 * 
+	 * @param strategy
+	 *            The polling strategy
+	 * @param maxInterval
+	 *            The maximal delay between checks in seconds
+	 * @return This instance for chaining
+	 */
+	public SebContextWait withPolling(SebPollingStrategy strategy, double maxInterval) {
+		pollingSleeper.strategy = strategy;
+		pollingSleeper.maxInterval = (long) (maxInterval * 1000);
+		return this;
+	}
+
+	/**
+	 * Sets strategy deciding delays between condition checks keeping maximal
+	 * delay.
+	 * 
+	 * @param strategy
+	 *            The polling strategy
+	 * @return This instance for chaining
+	 */
+	public SebContextWait withPolling(SebPollingStrategy strategy) {
+		pollingSleeper.strategy = strategy;
+		return this;
+	}
+
+	/**
+	 * Returns count of condition checks in last finished wait.
+	 * 
+	 * @return The checks count
+	 */
+	public int getPolls() {
+		return polls;
+	}
+
+	/**
+	 * Returns duration of last finished wait in milliseconds, it is time to
+	 * satisfy the condition when the wait succeeded.
+	 * 
+	 * @return The wait duration
+	 */
+	public long getElapsed() {
+		return elapsed;
+	}
+
 	@Override
 	public SebContextWait withTimeout(long duration, TimeUnit unit) {
 		super.withTimeout(duration, unit);
@@ -183,4 +324,41 @@ public class SebContextWait extends FluentWait<SebContext> {
 		return (SebContextWait) super.ignoring(firstType, secondType);
 	}
 
+	/**
+	 * Sleeper delaying checks using polling strategy, the delay never exceeds
+	 * wait end.
+	 */
+	protected static class PollingSleeper implements Sleeper {
+
+		protected final Clock clock;
+
+		protected final Sleeper sleeper;
+
+		protected SebPollingStrategy strategy = PollingStrategy.FIXED;
+
+		protected long maxInterval;
+
+		protected int sleeps;
+
+		protected long end;
+
+		public PollingSleeper(Clock clock, Sleeper sleeper) {
+			this.clock = clock;
+			this.sleeper = sleeper;
+		}
+
+		protected void start(long end) {
+			this.end = end;
+			sleeps = 0;
+		}
+
+		@Override
+		public void sleep(Duration interval) throws InterruptedException {
+			long intervalMillis = interval.in(TimeUnit.MILLISECONDS);
+			long delay = strategy.getDelay(++sleeps, intervalMillis, Math.max(maxInterval, intervalMillis));
+			sleeper.sleep(new Duration(Math.max(0, Math.min(delay, end - clock.now())), TimeUnit.MILLISECONDS));
+		}
+
+	}
+
 }
@@ -0,0 +1,221 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.interactions.Keyboard;
+import org.openqa.selenium.interactions.Mouse;
+import org.openqa.selenium.interactions.TouchScreen;
+import org.openqa.selenium.logging.Logs;
+import org.openqa.selenium.support.events.EventFiringWebDriver;
+
+/**
+ * Event firing driver used by {@link Seb}. It forgets navigated url on
+ * actions which fire no driver event, see {@link Seb#forgetNavigatedUrl()},
+ * and tracks script timeout set through {@link #manage()}, so it can be
+ * raised for one asynchronous script and restored after it. Driver default
+ * timeout is not known, so if user did not set any, raised timeout is kept
+ * and it is never lower than {@link #DEFAULT_SCRIPT_TIMEOUT}.
+ */
+public class SebEventFiringWebDriver extends EventFiringWebDriver {
+
+	/**
+	 * Minimal script timeout set when user did not set any, common driver
+	 * default in milliseconds.
+	 */
+	public static final long DEFAULT_SCRIPT_TIMEOUT = 30000;
+
+	protected final Seb seb;
+
+	/**
+	 * Script timeout set by user in milliseconds or null if not set.
+	 */
+	protected Long scriptTimeout;
+
+	/**
+	 * Script timeout kept raised by Seb while user did not set any.
+	 */
+	protected long raisedScriptTimeout;
+
+	public SebEventFiringWebDriver(WebDriver driver, Seb seb) {
+		super(driver);
+		this.seb = seb;
+	}
+
+	/**
+	 * Executes asynchronous script allowed to run given time. Script timeout
+	 * is raised if it is shorter. Timeout set by user is restored after the
+	 * script finishes, otherwise raised timeout is kept.
+	 * 
+	 * @param timeoutMillis
+	 *            The script timeout in milliseconds
+	 * @param script
+	 *            The script to execute
+	 * @param args
+	 *            The script arguments
+	 * @return The script result
+	 */
+	public synchronized Object executeAsyncScript(long timeoutMillis, String script, Object... args) {
+		Long previous = scriptTimeout;
+		if ((previous == null ? raisedScriptTimeout : previous) >= timeoutMillis)
+			return executeAsyncScript(script, args);
+		Timeouts timeouts = super.manage().timeouts();
+		if (previous == null) {
+			raisedScriptTimeout = Math.max(timeoutMillis, DEFAULT_SCRIPT_TIMEOUT);
+			timeouts.setScriptTimeout(raisedScriptTimeout, TimeUnit.MILLISECONDS);
+			return executeAsyncScript(script, args);
+		}
+		timeouts.setScriptTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+		try {
+			return executeAsyncScript(script, args);
+		} finally {
+			timeouts.setScriptTimeout(previous, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Returns script timeout set by user through this driver.
+	 * 
+	 * @return The script timeout in milliseconds or null if not set
+	 */
+	public Long getScriptTimeout() {
+		return scriptTimeout;
+	}
+
+	@Override
+	public Options manage() {
+		return new SebOptions(super.manage());
+	}
+
+	@Override
+	public TargetLocator switchTo() {
+		seb.forgetNavigatedUrl();
+		return super.switchTo();
+	}
+
+	@Override
+	public Keyboard getKeyboard() {
+		seb.forgetNavigatedUrl();
+		return super.getKeyboard();
+	}
+
+	@Override
+	public Mouse getMouse() {
+		seb.forgetNavigatedUrl();
+		return super.getMouse();
+	}
+
+	@Override
+	public TouchScreen getTouch() {
+		seb.forgetNavigatedUrl();
+		return super.getTouch();
+	}
+
+	protected class SebOptions implements Options {
+
+		protected final Options options;
+
+		protected SebOptions(Options options) {
+			this.options = options;
+		}
+
+		@Override
+		public void addCookie(Cookie cookie) {
+			options.addCookie(cookie);
+		}
+
+		@Override
+		public void deleteCookieNamed(String name) {
+			options.deleteCookieNamed(name);
+		}
+
+		@Override
+		public void deleteCookie(Cookie cookie) {
+			options.deleteCookie(cookie);
+		}
+
+		@Override
+		public void deleteAllCookies() {
+			options.deleteAllCookies();
+		}
+
+		@Override
+		public Set<Cookie> getCookies() {
+			return options.getCookies();
+		}
+
+		@Override
+		public Cookie getCookieNamed(String name) {
+			return options.getCookieNamed(name);
+		}
+
+		@Override
+		public Timeouts timeouts() {
+			return new SebTimeouts(options.timeouts());
+		}
+
+		@Override
+		public ImeHandler ime() {
+			return options.ime();
+		}
+
+		@Override
+		public Window window() {
+			return options.window();
+		}
+
+		@Override
+		public Logs logs() {
+			return options.logs();
+		}
+
+	}
+
+	protected class SebTimeouts implements Timeouts {
+
+		protected final Timeouts timeouts;
+
+		protected SebTimeouts(Timeouts timeouts) {
+			this.timeouts = timeouts;
+		}
+
+		@Override
+		public Timeouts implicitlyWait(long time, TimeUnit unit) {
+			timeouts.implicitlyWait(time, unit);
+			return this;
+		}
+
+		@Override
+		public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+			synchronized (SebEventFiringWebDriver.this) {
+				timeouts.setScriptTimeout(time, unit);
+				scriptTimeout = unit.toMillis(time);
+			}
+			return this;
+		}
+
+		@Override
+		public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+			timeouts.pageLoadTimeout(time, unit);
+			return this;
+		}
+
+	}
+
+}
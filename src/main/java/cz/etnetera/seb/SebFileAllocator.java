@@ -0,0 +1,173 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Allocates unique files in report directories. Next free suffix of every
+ * file name is kept in memory, so allocation does not probe existing files
+ * one by one. Files are created atomically, which keeps allocation unique
+ * across threads, {@link Seb} instances and files created by others.
+ * Created directories are remembered too.
+ */
+public class SebFileAllocator {
+
+	/**
+	 * Allocator shared by all Seb instances.
+	 */
+	public static final SebFileAllocator SHARED = new SebFileAllocator();
+
+	protected final Map<Path, RootDir> roots = new ConcurrentHashMap<>();
+
+	protected final SebUtils utils = new SebUtils();
+
+	/**
+	 * Creates a new empty file with unique name in given root directory.
+	 * Name is the same as {@link SebUtils#getUniqueFilePath(File, String, String)}
+	 * returns if no file is created meanwhile.
+	 * 
+	 * @param root
+	 *            The root directory
+	 * @param name
+	 *            The file name, can contain subdirectories
+	 * @param extension
+	 *            The file extension
+	 * @return The created file path
+	 * @throws IOException
+	 *             If file or its directories can not be created
+	 */
+	public Path allocate(File root, String name, String extension) throws IOException {
+		RootDir rootDir = getRootDir(root);
+		String escaped = utils.escapeFileName(name);
+		AtomicInteger counter = getCounter(rootDir, escaped, extension);
+		while (true) {
+			Path path = getFilePath(root, escaped, extension, counter.getAndIncrement());
+			if (rootDir.createFile(path))
+				return path;
+		}
+	}
+
+	/**
+	 * Registers user of given root, e.g. {@link Seb} instance writing into
+	 * it. Counters and created directories are kept until all users release
+	 * the root.
+	 * 
+	 * @param root
+	 *            The root directory
+	 */
+	public void acquire(File root) {
+		roots.compute(getKey(root), (k, rootDir) -> {
+			if (rootDir == null)
+				rootDir = new RootDir();
+			rootDir.users++;
+			return rootDir;
+		});
+	}
+
+	/**
+	 * Releases root acquired by {@link #acquire(File)}. Counters and created
+	 * directories are forgotten when the last user releases it. Allocation in
+	 * it stays correct then, just slower for the first time.
+	 * 
+	 * @param root
+	 *            The root directory
+	 */
+	public void release(File root) {
+		roots.computeIfPresent(getKey(root), (k, rootDir) -> --rootDir.users > 0 ? rootDir : null);
+	}
+
+	protected RootDir getRootDir(File root) {
+		return roots.computeIfAbsent(getKey(root), k -> new RootDir());
+	}
+
+	protected Path getKey(File root) {
+		return root.toPath().toAbsolutePath().normalize();
+	}
+
+	protected AtomicInteger getCounter(RootDir rootDir, String escapedName, String extension) {
+		return rootDir.counters.computeIfAbsent(utils.join(".", escapedName, extension), k -> new AtomicInteger());
+	}
+
+	protected Path getFilePath(File root, String escapedName, String extension, int suffix) {
+		return utils.getFilePath(root, suffix == 0 ? escapedName : utils.join(Seb.LABEL_DELIMITER, escapedName, suffix),
+				extension);
+	}
+
+	/**
+	 * State of one root directory.
+	 */
+	protected static class RootDir {
+
+		protected final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+		protected final Set<Path> directories = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * Count of users, changed within map compute only.
+		 */
+		protected int users;
+
+		/**
+		 * Creates file if it does not exist.
+		 * 
+		 * @param file
+		 *            The file path
+		 * @return True if file was created, false if it exists already
+		 * @throws IOException
+		 *             If file or its directories can not be created
+		 */
+		protected boolean createFile(Path file) throws IOException {
+			Path dir = file.toAbsolutePath().getParent();
+			if (directories.add(dir))
+				createDirectories(dir);
+			try {
+				Files.createFile(file);
+				return true;
+			} catch (FileAlreadyExistsException e) {
+				return false;
+			} catch (NoSuchFileException e) {
+				// directory was removed meanwhile
+				createDirectories(dir);
+			}
+			try {
+				Files.createFile(file);
+				return true;
+			} catch (FileAlreadyExistsException e) {
+				return false;
+			}
+		}
+
+		protected void createDirectories(Path dir) throws IOException {
+			try {
+				Files.createDirectories(dir);
+			} catch (IOException e) {
+				directories.remove(dir);
+				throw e;
+			}
+		}
+
+	}
+
+}
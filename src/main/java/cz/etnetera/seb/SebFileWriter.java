@@ -0,0 +1,38 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes file content into stream, see
+ * {@link SebContext#saveFile(SebFileWriter, String, String)}. Content can be
+ * encoded while written, so no intermediate copy is needed.
+ */
+@FunctionalInterface
+public interface SebFileWriter {
+
+	/**
+	 * Writes content into given stream. Stream is closed by caller.
+	 * 
+	 * @param out
+	 *            The file stream
+	 * @throws IOException
+	 *             If content can not be written
+	 */
+	public void write(OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,37 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+/**
+ * Decides how long {@link SebContextWait} sleeps between condition checks.
+ * Built-in strategies are in {@link PollingStrategy}.
+ */
+@FunctionalInterface
+public interface SebPollingStrategy {
+
+	/**
+	 * Returns delay before next condition check.
+	 * 
+	 * @param poll
+	 *            The count of checks done so far, starting with 1
+	 * @param interval
+	 *            The wait retry interval in milliseconds
+	 * @param maxInterval
+	 *            The maximal delay in milliseconds, never lower than interval
+	 * @return The delay in milliseconds
+	 */
+	long getDelay(int poll, long interval, long maxInterval);
+
+}
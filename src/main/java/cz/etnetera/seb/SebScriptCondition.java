@@ -0,0 +1,317 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ByIdOrName;
+
+/**
+ * Wait condition evaluated in browser. Used by
+ * {@link SebContextWait#untilInBrowser(SebScriptCondition)}, browser
+ * checks the condition on every DOM mutation and animation frame and
+ * returns as soon as it holds, so whole wait is one driver command.
+ * 
+ * Elements are searched in context element or in whole document. Supported
+ * locators are CSS selector, XPath, id, name, id or name, class name and tag
+ * name. Conditions using other locators, e.g. chained or custom ones, are
+ * checked on Java side and the wait falls back to standard polling.
+ */
+public class SebScriptCondition {
+
+	/**
+	 * Script function <code>find(root, loc)</code> returning array of
+	 * elements found in root using locator converted by
+	 * {@link #toScriptLocator(By)}.
+	 */
+	public static final String FIND_FUNCTION = "function attr(name, value) {"
+			+ " return '[' + name + '=\"' + value.replace(/([\"\\\\])/g, '\\\\$1') + '\"]'; }"
+			+ "function list(nodes) { return Array.prototype.slice.call(nodes); }"
+			+ "function find(root, loc) {"
+			+ " switch (loc[0]) {"
+			+ " case 'css': return list(root.querySelectorAll(loc[1]));"
+			+ " case 'id': return list(root.querySelectorAll(attr('id', loc[1])));"
+			+ " case 'name': return list(root.querySelectorAll(attr('name', loc[1])));"
+			+ " case 'idOrName': return list(root.querySelectorAll(attr('id', loc[1])))"
+			+ "  .concat(list(root.querySelectorAll(attr('name', loc[1]))));"
+			+ " case 'className': return list(root.getElementsByClassName(loc[1]));"
+			+ " case 'tagName': return list(root.getElementsByTagName(loc[1]));"
+			+ " case 'xpath':"
+			+ "  var result = document.evaluate(loc[1], root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), els = [];"
+			+ "  for (var i = 0; i < result.snapshotLength; i++) els.push(result.snapshotItem(i));"
+			+ "  return els;"
+			+ " } }";
+
+	protected static final String FUNCTIONS = FIND_FUNCTION
+			+ "var root = arguments[0] || document, loc = arguments[1], kind = arguments[2], expected = arguments[3];"
+			+ "function displayed(el) {"
+			+ " if (!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) return false;"
+			+ " var style = window.getComputedStyle(el);"
+			+ " return style.visibility !== 'hidden' && style.visibility !== 'collapse' && style.opacity !== '0'; }"
+			+ "function check() {"
+			+ " if (kind === 'script') return !!new Function('root', expected)(root);"
+			+ " var els = find(root, loc);"
+			+ " switch (kind) {"
+			+ " case 'present': return els.length > 0;"
+			+ " case 'visible': return els.length > 0 && displayed(els[0]);"
+			+ " case 'text': return els.length > 0 && displayed(els[0]) && (els[0].innerText || els[0].textContent || '').trim() === expected;"
+			+ " case 'count': return els.length === expected;"
+			+ " } }";
+
+	/**
+	 * Script checking condition once.
+	 */
+	public static final String CHECK_SCRIPT = FUNCTIONS + "return check();";
+
+	/**
+	 * Asynchronous script waiting until condition holds or timeout in
+	 * milliseconds passed as fifth argument expires.
+	 */
+	public static final String AWAIT_SCRIPT = FUNCTIONS
+			+ "var done = arguments[arguments.length - 1], finished = false, observer = null, timer = null;"
+			+ "function finish(result) {"
+			+ " if (finished) return; finished = true;"
+			+ " if (observer) observer.disconnect();"
+			+ " clearTimeout(timer); done(result); }"
+			+ "function test() { if (finished) return; try { if (check()) finish(true); } catch (e) {} }"
+			+ "test();"
+			+ "if (finished) return;"
+			+ "timer = setTimeout(function () { finish(false); }, arguments[4]);"
+			+ "if (window.MutationObserver) {"
+			+ " observer = new MutationObserver(test);"
+			+ " observer.observe(document.documentElement || document,"
+			+ "  { childList: true, subtree: true, attributes: true, characterData: true }); }"
+			+ "var frame = window.requestAnimationFrame || function (f) { return setTimeout(f, 50); };"
+			+ "(function loop() { if (finished) return; test(); frame(loop); })();";
+
+	/**
+	 * Script locator types and <code>toString</code> prefixes of supported
+	 * locator classes. Value is parsed only if locator class matches exactly.
+	 */
+	protected static final Map<Class<? extends By>, String[]> SCRIPT_LOCATORS = createScriptLocators();
+
+	protected static final String ID_OR_NAME_PREFIX = "by id or name \"";
+
+	protected final String kind;
+
+	protected final By by;
+
+	protected final Object expected;
+
+	protected final List<String> locator;
+
+	protected SebScriptCondition(String kind, By by, Object expected) {
+		this.kind = kind;
+		this.by = by;
+		this.expected = expected;
+		this.locator = by == null ? null : findScriptLocator(by);
+	}
+
+	protected static Map<Class<? extends By>, String[]> createScriptLocators() {
+		Map<Class<? extends By>, String[]> locators = new HashMap<>();
+		locators.put(By.ByCssSelector.class, new String[] { "css", "By.cssSelector:" });
+		locators.put(By.ByXPath.class, new String[] { "xpath", "By.xpath:" });
+		locators.put(By.ById.class, new String[] { "id", "By.id:" });
+		locators.put(By.ByName.class, new String[] { "name", "By.name:" });
+		locators.put(By.ByClassName.class, new String[] { "className", "By.className:" });
+		locators.put(By.ByTagName.class, new String[] { "tagName", "By.tagName:" });
+		locators.put(ByIdOrName.class, new String[] { "idOrName", ID_OR_NAME_PREFIX });
+		return Collections.unmodifiableMap(locators);
+	}
+
+	/**
+	 * Condition satisfied if some element is present.
+	 * 
+	 * @param by
+	 *            The element locator
+	 * @return The condition
+	 */
+	public static SebScriptCondition present(By by) {
+		return new SebScriptCondition("present", by, null);
+	}
+
+	/**
+	 * Condition satisfied if first found element is visible.
+	 * 
+	 * @param by
+	 *            The element locator
+	 * @return The condition
+	 */
+	public static SebScriptCondition visible(By by) {
+		return new SebScriptCondition("visible", by, null);
+	}
+
+	/**
+	 * Condition satisfied if first found element is visible and its trimmed
+	 * text equals to given text.
+	 * 
+	 * @param by
+	 *            The element locator
+	 * @param text
+	 *            The expected text
+	 * @return The condition
+	 */
+	public static SebScriptCondition textEquals(By by, String text) {
+		return new SebScriptCondition("text", by, text);
+	}
+
+	/**
+	 * Condition satisfied if count of found elements equals to given count.
+	 * 
+	 * @param by
+	 *            The element locator
+	 * @param count
+	 *            The expected count
+	 * @return The condition
+	 */
+	public static SebScriptCondition count(By by, int count) {
+		return new SebScriptCondition("count", by, count);
+	}
+
+	/**
+	 * Condition satisfied if given function body returns truthy value.
+	 * Context element or document is available as <code>root</code>
+	 * variable.
+	 * 
+	 * @param body
+	 *            The function body, e.g.
+	 *            <code>return window.app &amp;&amp; app.ready;</code>
+	 * @return The condition
+	 */
+	public static SebScriptCondition script(String body) {
+		return new SebScriptCondition("script", null, body);
+	}
+
+	/**
+	 * Checks condition once.
+	 * 
+	 * @param context
+	 *            The context elements are searched in
+	 * @return True if condition holds
+	 */
+	public boolean test(SebContext context) {
+		if (!isInBrowser())
+			return testElements(context.findElements(by));
+		return Boolean.TRUE.equals(context.getSeb().executeScript(CHECK_SCRIPT, getArguments(context, 0)));
+	}
+
+	/**
+	 * Returns true if condition can be evaluated in browser. It is false if
+	 * locator is not supported.
+	 * 
+	 * @return True if condition is evaluated in browser
+	 */
+	public boolean isInBrowser() {
+		return by == null || locator != null;
+	}
+
+	protected boolean testElements(List<WebElement> elements) {
+		switch (kind) {
+		case "present":
+			return !elements.isEmpty();
+		case "visible":
+			return !elements.isEmpty() && elements.get(0).isDisplayed();
+		case "text":
+			return !elements.isEmpty() && elements.get(0).isDisplayed()
+					&& expected.equals(elements.get(0).getText().trim());
+		case "count":
+			return elements.size() == (Integer) expected;
+		default:
+			throw new SebException("Condition can not be checked " + this);
+		}
+	}
+
+	/**
+	 * Waits in browser until condition holds.
+	 * 
+	 * @param context
+	 *            The context elements are searched in
+	 * @param timeoutMillis
+	 *            The timeout in milliseconds
+	 * @return True if condition holds, false if timeout expired
+	 * @throws SebException
+	 *             If condition can not be evaluated in browser
+	 */
+	public boolean await(SebContext context, long timeoutMillis) {
+		if (!isInBrowser())
+			throw new SebException("Locator can not be evaluated in browser " + by);
+		return Boolean.TRUE.equals(
+				context.getSeb().executeAsyncScript(timeoutMillis, AWAIT_SCRIPT, getArguments(context, timeoutMillis)));
+	}
+
+	protected Object[] getArguments(SebContext context, long timeoutMillis) {
+		return new Object[] { context instanceof WebElement ? context : null, getLocator(), kind, expected,
+				timeoutMillis };
+	}
+
+	protected List<String> getLocator() {
+		return locator;
+	}
+
+	/**
+	 * Converts locator into [type, value] pair used by
+	 * {@link #FIND_FUNCTION}.
+	 * 
+	 * @param by
+	 *            The locator
+	 * @return The script locator
+	 * @throws SebException
+	 *             If locator can not be evaluated in browser
+	 */
+	public static List<String> toScriptLocator(By by) {
+		List<String> locator = findScriptLocator(by);
+		if (locator == null)
+			throw new SebException("Locator can not be evaluated in browser " + by);
+		return locator;
+	}
+
+	/**
+	 * Converts locator into script locator or returns null if locator class
+	 * is not supported. Subclasses of supported locators are not supported
+	 * too, as their <code>toString</code> can differ.
+	 * 
+	 * @param by
+	 *            The locator
+	 * @return The script locator or null
+	 */
+	protected static List<String> findScriptLocator(By by) {
+		String[] type = SCRIPT_LOCATORS.get(by.getClass());
+		if (type == null)
+			return null;
+		String str = by.toString();
+		if (!str.startsWith(type[1]))
+			return null;
+		String value = str.substring(type[1].length());
+		if (by instanceof ByIdOrName) {
+			if (!value.endsWith("\""))
+				return null;
+			value = value.substring(0, value.length() - 1);
+		}
+		return Arrays.asList(type[0], value.trim());
+	}
+
+	@Override
+	public String toString() {
+		return by == null ? kind + " " + expected
+				: kind + " " + by + (expected == null ? "" : " " + expected);
+	}
+
+}
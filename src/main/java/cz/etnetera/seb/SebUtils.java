@@ -28,6 +28,9 @@ import java.util.stream.Stream;
  */
 public class SebUtils {
 
+	protected static final Pattern FILE_NAME_ESCAPE_PATTERN = Pattern
+			.compile("[^a-zA-Z0-9_\\-\\." + Pattern.quote(File.separator) + "]");
+
 	public String join(String delimiter, Object... values) {
 		return join(delimiter, Arrays.stream(values));
 	}
@@ -55,8 +58,24 @@ public class SebUtils {
 		return path;
 	}
 
+	/**
+	 * Returns name of class generated at build time for class with given
+	 * binary name. Generated class is placed into the same package and nested
+	 * class names are joined using underscore.
+	 * 
+	 * @param binaryName
+	 *            The binary name of the source class
+	 * @param suffix
+	 *            The generated class name suffix
+	 * @return The generated class binary name
+	 */
+	public String getGeneratedClassName(String binaryName, String suffix) {
+		int packageEnd = binaryName.lastIndexOf('.') + 1;
+		return binaryName.substring(0, packageEnd) + binaryName.substring(packageEnd).replace('$', '_') + suffix;
+	}
+
 	public String escapeFileName(String name) {
-		return name.replaceAll("[^a-zA-Z0-9_\\-\\." + Pattern.quote(File.separator) + "]", "_");
+		return FILE_NAME_ESCAPE_PATTERN.matcher(name).replaceAll("_");
 	}
 	
 }
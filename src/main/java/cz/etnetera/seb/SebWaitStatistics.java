@@ -0,0 +1,100 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts condition checks and time spent in {@link SebContextWait} waits
+ * of one {@link Seb} instance.
+ */
+public class SebWaitStatistics {
+
+	protected final AtomicLong satisfiedCount = new AtomicLong();
+
+	protected final AtomicLong timeoutCount = new AtomicLong();
+
+	protected final AtomicLong pollCount = new AtomicLong();
+
+	protected final AtomicLong totalTime = new AtomicLong();
+
+	/**
+	 * Records finished wait.
+	 * 
+	 * @param polls
+	 *            The count of condition checks
+	 * @param time
+	 *            The wait duration in milliseconds
+	 * @param satisfied
+	 *            True if condition was satisfied, false if wait failed
+	 */
+	public void record(int polls, long time, boolean satisfied) {
+		(satisfied ? satisfiedCount : timeoutCount).incrementAndGet();
+		pollCount.addAndGet(polls);
+		totalTime.addAndGet(time);
+	}
+
+	/**
+	 * Returns count of finished waits.
+	 * 
+	 * @return The waits count
+	 */
+	public long getWaitCount() {
+		return satisfiedCount.get() + timeoutCount.get();
+	}
+
+	/**
+	 * Returns count of waits with satisfied condition.
+	 * 
+	 * @return The satisfied waits count
+	 */
+	public long getSatisfiedCount() {
+		return satisfiedCount.get();
+	}
+
+	/**
+	 * Returns count of waits which failed, mostly by timeout.
+	 * 
+	 * @return The failed waits count
+	 */
+	public long getTimeoutCount() {
+		return timeoutCount.get();
+	}
+
+	/**
+	 * Returns count of condition checks in all waits.
+	 * 
+	 * @return The checks count
+	 */
+	public long getPollCount() {
+		return pollCount.get();
+	}
+
+	/**
+	 * Returns time spent in all waits in milliseconds.
+	 * 
+	 * @return The total wait time
+	 */
+	public long getTotalTime() {
+		return totalTime.get();
+	}
+
+	@Override
+	public String toString() {
+		return "waits " + getWaitCount() + " (timed out " + getTimeoutCount() + "), polls " + getPollCount()
+				+ ", time " + getTotalTime() + " ms";
+	}
+
+}
@@ -34,17 +34,22 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
+import cz.etnetera.seb.PollingStrategy;
 import cz.etnetera.seb.Seb;
 import cz.etnetera.seb.SebContext;
 import cz.etnetera.seb.SebException;
+import cz.etnetera.seb.SebPollingStrategy;
 import cz.etnetera.seb.SebUtils;
 import cz.etnetera.seb.listener.SebListener;
 import cz.etnetera.seb.listener.impl.ConfigListener;
 import cz.etnetera.seb.listener.impl.LoggingListener;
 import cz.etnetera.seb.listener.impl.PageSourceListener;
+import cz.etnetera.seb.listener.impl.PageSourceMode;
+import cz.etnetera.seb.listener.impl.ScreenshotFormat;
 import cz.etnetera.seb.listener.impl.ScreenshotListener;
 import cz.etnetera.seb.listener.impl.SebLogListener;
 import cz.etnetera.seb.listener.impl.WebDriverLogListener;
+import cz.etnetera.seb.page.PageReadiness;
 import cz.etnetera.seb.source.ChainedPropertiesSource;
 import cz.etnetera.seb.source.DataSource;
 
@@ -92,11 +97,23 @@ public class BasicSebConfiguration implements SebConfiguration, ChainedPropertie
 
 	public static final String WAIT_TIMEOUT = PREFIX + "waitTimeout";
 	public static final String WAIT_RETRY_INTERVAL = PREFIX + "waitRetryInterval";
+	public static final String WAIT_POLLING_STRATEGY = PREFIX + "waitPollingStrategy";
+	public static final String WAIT_POLLING_MAX_INTERVAL = PREFIX + "waitPollingMaxInterval";
 	public static final String WAIT_BEFORE_PAGE_INIT_TIMEOUT = PREFIX + "waitBeforePageInitTimeout";
+	public static final String PAGE_READINESS = PREFIX + "pageReadiness";
+	public static final String PAGE_READINESS_QUIET_PERIOD = PREFIX + "pageReadinessQuietPeriod";
 
 	public static final String REPORTED = PREFIX + "reported";
 	public static final String REPORTS_ROOT_DIR = PREFIX + "reportsRootDir";
 	public static final String REPORT_DIR = PREFIX + "reportDir";
+	public static final String REPORT_DEDUP = PREFIX + "report.dedup";
+	public static final String PAGE_SOURCE_MODE = PREFIX + "pageSource.mode";
+	public static final String PAGE_SOURCE_KEYFRAME_INTERVAL = PREFIX + "pageSource.keyframeInterval";
+	public static final String ARTIFACTS_RETENTION = PREFIX + "artifacts.retention";
+	public static final String SCREENSHOT_FORMAT = PREFIX + "screenshot.format";
+	public static final String SCREENSHOT_SCALE = PREFIX + "screenshot.scale";
+	public static final String SCREENSHOT_QUALITY = PREFIX + "screenshot.quality";
+	public static final String SCREENSHOT_THUMBNAIL = PREFIX + "screenshot.thumbnail";
 	
 	public static final String LAZY_DRIVER = PREFIX + "lazyDriver";
 	public static final String SUPPORTS_ALERT = PREFIX + "supportsAlert";
@@ -105,6 +122,18 @@ public class BasicSebConfiguration implements SebConfiguration, ChainedPropertie
 	public static final String CAPABILITIES_PREFIX = PREFIX + "caps.";
 	
 	public static final String LOG_LEVEL = PREFIX + "log.level";
+	public static final String LOG_CONSOLE = PREFIX + "log.console";
+	public static final String LOG_FLUSH_INTERVAL = PREFIX + "log.flushInterval";
+	public static final String LOG_MAX_FILE_SIZE = PREFIX + "log.maxFileSize";
+
+	public static final String ELEMENT_CACHE = PREFIX + "elementCache";
+
+	public static final String REUSE_NAVIGATED_URL = PREFIX + "reuseNavigatedUrl";
+
+	public static final String COMPOSE_LOCATORS = PREFIX + "composeLocators";
+
+	public static final String ASYNC_REPORT = PREFIX + "asyncReport";
+	public static final String ASYNC_REPORT_QUEUE_SIZE = PREFIX + "asyncReportQueueSize";
 
 	protected List<PropertiesValue> propertiesHolder = new ArrayList<>();
 
@@ -209,6 +238,25 @@ public class BasicSebConfiguration implements SebConfiguration, ChainedPropertie
 	protected double getDefaultWaitRetryInterval() {
 		return 0.1;
 	}
+
+	/**
+	 * Returns default wait polling strategy. Override this for different value.
+	 * 
+	 * @return The wait polling strategy.
+	 */
+	protected SebPollingStrategy getDefaultWaitPollingStrategy() {
+		return PollingStrategy.FIXED;
+	}
+
+	/**
+	 * Returns default maximal delay between wait condition checks. Override
+	 * this for different value.
+	 * 
+	 * @return The wait polling max interval.
+	 */
+	protected double getDefaultWaitPollingMaxInterval() {
+		return 2;
+	}
 	
 	/**
 	 * Returns default wait before page initialization timeout. Override this for different value.
@@ -219,6 +267,24 @@ public class BasicSebConfiguration implements SebConfiguration, ChainedPropertie
 		return 0;
 	}
 
+	/**
+	 * Returns default page readiness. Override this for different value.
+	 * 
+	 * @return The page readiness.
+	 */
+	protected PageReadiness getDefaultPageReadiness() {
+		return PageReadiness.SLEEP;
+	}
+
+	/**
+	 * Returns default page readiness quiet period. Override this for different value.
+	 * 
+	 * @return The page readiness quiet period.
+	 */
+	protected double getDefaultPageReadinessQuietPeriod() {
+		return 0.1;
+	}
+
 	/**
 	 * Is storing files using Seb enabled as default? Override this for
 	 * different value.
@@ -307,6 +373,166 @@ public class BasicSebConfiguration implements SebConfiguration, ChainedPropertie
 		return level;
 	}
 
+	/**
+	 * Are logs printed to console as default? Override this for different
+	 * value.
+	 * 
+	 * @return Log console status.
+	 */
+	protected boolean isDefaultLogConsole() {
+		return true;
+	}
+
+	/**
+	 * Default log flush interval in seconds. Override this for different
+	 * value.
+	 * 
+	 * @return Log flush interval.
+	 */
+	protected double getDefaultLogFlushInterval() {
+		return 1;
+	}
+
+	/**
+	 * Default maximum log file size in bytes, 0 for unlimited. Override this
+	 * for different value.
+	 * 
+	 * @return Log max file size.
+	 */
+	protected long getDefaultLogMaxFileSize() {
+		return 0;
+	}
+
+	/**
+	 * Is element cache enabled as default? Override this for different
+	 * value.
+	 * 
+	 * @return Element cache status.
+	 */
+	protected boolean isDefaultElementCache() {
+		return false;
+	}
+
+	/**
+	 * Is navigated url reused for page url verification as default? Override
+	 * this for different value.
+	 * 
+	 * @return Navigated url reuse status.
+	 */
+	protected boolean isDefaultReuseNavigatedUrl() {
+		return false;
+	}
+
+	/**
+	 * Are locators of nested elements composed as default? Override this for
+	 * different value.
+	 * 
+	 * @return Locators composition status.
+	 */
+	protected boolean isDefaultComposeLocators() {
+		return false;
+	}
+
+	/**
+	 * Are report files deduplicated as default? Override this for different
+	 * value.
+	 * 
+	 * @return Report deduplication status.
+	 */
+	protected boolean isDefaultReportDedup() {
+		return false;
+	}
+
+	/**
+	 * Default mode of stored page sources. Override this for different
+	 * value.
+	 * 
+	 * @return Page source mode.
+	 */
+	protected PageSourceMode getDefaultPageSourceMode() {
+		return PageSourceMode.HTML;
+	}
+
+	/**
+	 * Default count of page source captures between full page sources in
+	 * delta mode. Override this for different value.
+	 * 
+	 * @return Page source keyframe interval.
+	 */
+	protected int getDefaultPageSourceKeyframeInterval() {
+		return 10;
+	}
+
+	/**
+	 * Default format of stored screenshots. Override this for different
+	 * value.
+	 * 
+	 * @return Screenshot format.
+	 */
+	protected ScreenshotFormat getDefaultScreenshotFormat() {
+		return ScreenshotFormat.PNG;
+	}
+
+	/**
+	 * Default scale of stored screenshots. Override this for different
+	 * value.
+	 * 
+	 * @return Screenshot scale.
+	 */
+	protected double getDefaultScreenshotScale() {
+		return 1;
+	}
+
+	/**
+	 * Default JPEG quality of stored screenshots. Override this for
+	 * different value.
+	 * 
+	 * @return Screenshot quality.
+	 */
+	protected double getDefaultScreenshotQuality() {
+		return 0.85;
+	}
+
+	/**
+	 * Default width of screenshot thumbnails, 0 for no thumbnails. Override
+	 * this for different value.
+	 * 
+	 * @return Screenshot thumbnail width.
+	 */
+	protected int getDefaultScreenshotThumbnail() {
+		return 0;
+	}
+
+	/**
+	 * Default count of artifacts kept in memory until failure, 0 to save
+	 * them immediately. Override this for different value.
+	 * 
+	 * @return Artifacts retention.
+	 */
+	protected int getDefaultArtifactsRetention() {
+		return 0;
+	}
+
+	/**
+	 * Are report files written asynchronously as default? Override this for
+	 * different value.
+	 * 
+	 * @return Async report status.
+	 */
+	protected boolean isDefaultAsyncReport() {
+		return false;
+	}
+
+	/**
+	 * Default maximum count of waiting async report tasks. Override this for
+	 * different value.
+	 * 
+	 * @return Async report queue size.
+	 */
+	protected int getDefaultAsyncReportQueueSize() {
+		return 64;
+	}
+
 	@Override
 	public void init() {
 
@@ -351,12 +577,34 @@ public class BasicSebConfiguration implements SebConfiguration, ChainedPropertie
 	public double getWaitRetryInterval() {
 		return getProperty(WAIT_RETRY_INTERVAL, Double.class, getDefaultWaitRetryInterval());
 	}
+
+	@Override
+	public SebPollingStrategy getWaitPollingStrategy() {
+		String strategy = getProperty(WAIT_POLLING_STRATEGY);
+		return strategy == null ? getDefaultWaitPollingStrategy() : PollingStrategy.parse(strategy);
+	}
+
+	@Override
+	public double getWaitPollingMaxInterval() {
+		return getProperty(WAIT_POLLING_MAX_INTERVAL, Double.class, getDefaultWaitPollingMaxInterval());
+	}
 	
 	@Override
 	public double getWaitBeforePageInitTimeout() {
 		return getProperty(WAIT_BEFORE_PAGE_INIT_TIMEOUT, Double.class, getDefaultWaitBeforePageInitTimeout());
 	}
 
+	@Override
+	public PageReadiness getPageReadiness() {
+		String readiness = getProperty(PAGE_READINESS);
+		return readiness == null ? getDefaultPageReadiness() : PageReadiness.parse(readiness);
+	}
+
+	@Override
+	public double getPageReadinessQuietPeriod() {
+		return getProperty(PAGE_READINESS_QUIET_PERIOD, Double.class, getDefaultPageReadinessQuietPeriod());
+	}
+
 	@Override
 	public boolean isReported() {
 		return getProperty(REPORTED, Boolean.class, isDefaultReported());
@@ -394,6 +642,88 @@ public class BasicSebConfiguration implements SebConfiguration, ChainedPropertie
 		return getDefaultLogLevel();
 	}
 
+	@Override
+	public boolean isLogConsole() {
+		return getProperty(LOG_CONSOLE, Boolean.class, isDefaultLogConsole());
+	}
+
+	@Override
+	public double getLogFlushInterval() {
+		return getProperty(LOG_FLUSH_INTERVAL, Double.class, getDefaultLogFlushInterval());
+	}
+
+	@Override
+	public long getLogMaxFileSize() {
+		return getProperty(LOG_MAX_FILE_SIZE, Long.class, getDefaultLogMaxFileSize());
+	}
+
+	@Override
+	public boolean isElementCache() {
+		return getProperty(ELEMENT_CACHE, Boolean.class, isDefaultElementCache());
+	}
+
+	@Override
+	public boolean isReuseNavigatedUrl() {
+		return getProperty(REUSE_NAVIGATED_URL, Boolean.class, isDefaultReuseNavigatedUrl());
+	}
+
+	@Override
+	public boolean isComposeLocators() {
+		return getProperty(COMPOSE_LOCATORS, Boolean.class, isDefaultComposeLocators());
+	}
+
+	@Override
+	public boolean isReportDedup() {
+		return getProperty(REPORT_DEDUP, Boolean.class, isDefaultReportDedup());
+	}
+
+	@Override
+	public PageSourceMode getPageSourceMode() {
+		String mode = getProperty(PAGE_SOURCE_MODE);
+		return mode == null ? getDefaultPageSourceMode() : PageSourceMode.parse(mode);
+	}
+
+	@Override
+	public int getPageSourceKeyframeInterval() {
+		return getProperty(PAGE_SOURCE_KEYFRAME_INTERVAL, Integer.class, getDefaultPageSourceKeyframeInterval());
+	}
+
+	@Override
+	public ScreenshotFormat getScreenshotFormat() {
+		String format = getProperty(SCREENSHOT_FORMAT);
+		return format == null ? getDefaultScreenshotFormat() : ScreenshotFormat.parse(format);
+	}
+
+	@Override
+	public double getScreenshotScale() {
+		return getProperty(SCREENSHOT_SCALE, Double.class, getDefaultScreenshotScale());
+	}
+
+	@Override
+	public double getScreenshotQuality() {
+		return getProperty(SCREENSHOT_QUALITY, Double.class, getDefaultScreenshotQuality());
+	}
+
+	@Override
+	public int getScreenshotThumbnail() {
+		return getProperty(SCREENSHOT_THUMBNAIL, Integer.class, getDefaultScreenshotThumbnail());
+	}
+
+	@Override
+	public int getArtifactsRetention() {
+		return getProperty(ARTIFACTS_RETENTION, Integer.class, getDefaultArtifactsRetention());
+	}
+
+	@Override
+	public boolean isAsyncReport() {
+		return getProperty(ASYNC_REPORT, Boolean.class, isDefaultAsyncReport());
+	}
+
+	@Override
+	public int getAsyncReportQueueSize() {
+		return getProperty(ASYNC_REPORT_QUEUE_SIZE, Integer.class, getDefaultAsyncReportQueueSize());
+	}
+
 	@Override
 	public Map<Object, Object> asMap() {
 		return getMergedProperties();
@@ -22,10 +22,18 @@ import java.util.logging.Level;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
 
+import cz.etnetera.seb.PollingStrategy;
 import cz.etnetera.seb.Seb;
+import cz.etnetera.seb.SebBlobStore;
 import cz.etnetera.seb.SebContext;
+import cz.etnetera.seb.SebPollingStrategy;
 import cz.etnetera.seb.listener.SebListener;
 import cz.etnetera.seb.listener.impl.ConfigListener;
+import cz.etnetera.seb.listener.impl.PageSourceListener;
+import cz.etnetera.seb.listener.impl.PageSourceMode;
+import cz.etnetera.seb.listener.impl.ScreenshotFormat;
+import cz.etnetera.seb.listener.impl.ScreenshotListener;
+import cz.etnetera.seb.page.PageReadiness;
 
 /**
  * Interface for Seb configuration.
@@ -97,6 +105,25 @@ public interface SebConfiguration {
 	 */
 	double getWaitRetryInterval();
 	
+	/**
+	 * Returns strategy deciding delays between wait condition checks.
+	 * 
+	 * @return The wait polling strategy.
+	 */
+	default SebPollingStrategy getWaitPollingStrategy() {
+		return PollingStrategy.FIXED;
+	}
+	
+	/**
+	 * Returns maximal delay between wait condition checks in seconds used by
+	 * growing polling strategies.
+	 * 
+	 * @return The wait polling max interval.
+	 */
+	default double getWaitPollingMaxInterval() {
+		return 2;
+	}
+	
 	/**
 	 * Returns wait before page initialization timeout.
 	 * 
@@ -104,6 +131,25 @@ public interface SebConfiguration {
 	 */
 	double getWaitBeforePageInitTimeout();
 	
+	/**
+	 * Returns how pages wait before initialization.
+	 * 
+	 * @return The page readiness.
+	 */
+	default PageReadiness getPageReadiness() {
+		return PageReadiness.SLEEP;
+	}
+	
+	/**
+	 * Returns time in seconds DOM must not change to consider page ready
+	 * when {@link PageReadiness#PROBE} is used.
+	 * 
+	 * @return The page readiness quiet period.
+	 */
+	default double getPageReadinessQuietPeriod() {
+		return 0.1;
+	}
+	
 	/**
 	 * Is storing files using Seb enabled?
 	 * 
@@ -159,6 +205,165 @@ public interface SebConfiguration {
 	 */
 	Level getLogLevel();
 	
+	/**
+	 * Are logs printed to console.
+	 * 
+	 * @return Log console status
+	 */
+	default boolean isLogConsole() {
+		return true;
+	}
+	
+	/**
+	 * Maximum time in seconds logs are kept in buffer before written into
+	 * log file.
+	 * 
+	 * @return The log flush interval
+	 */
+	default double getLogFlushInterval() {
+		return 1;
+	}
+	
+	/**
+	 * Maximum log file size in bytes. Next log file is started when it is
+	 * exceeded. Use 0 for unlimited size.
+	 * 
+	 * @return The log max file size
+	 */
+	default long getLogMaxFileSize() {
+		return 0;
+	}
+	
+	/**
+	 * Is element cache enabled. Found elements are shared by all
+	 * proxies with the same context and locator until page changes.
+	 * 
+	 * @return Element cache status
+	 */
+	default boolean isElementCache() {
+		return false;
+	}
+	
+	/**
+	 * Is url of last navigation used for page url verification instead of
+	 * asking driver. Enable it only if application does not redirect.
+	 * 
+	 * @return Navigated url reuse status
+	 */
+	default boolean isReuseNavigatedUrl() {
+		return false;
+	}
+	
+	/**
+	 * Are locators of elements nested in modules composed into one query
+	 * when all of them are CSS selectors or XPath expressions. CSS selectors
+	 * are composed only under module located by id selector.
+	 * 
+	 * @return Locators composition status
+	 */
+	default boolean isComposeLocators() {
+		return false;
+	}
+	
+	/**
+	 * Is content of report files deduplicated. Every distinct content is
+	 * stored once in {@link SebBlobStore} and saved files
+	 * are hard links to it, mapped in index.
+	 * 
+	 * @return Report deduplication status
+	 */
+	default boolean isReportDedup() {
+		return false;
+	}
+	
+	/**
+	 * How page sources are stored by {@link PageSourceListener}.
+	 * 
+	 * @return The page source mode
+	 */
+	default PageSourceMode getPageSourceMode() {
+		return PageSourceMode.HTML;
+	}
+	
+	/**
+	 * Count of page source captures between full page sources when
+	 * {@link PageSourceMode#DELTA} is used.
+	 * 
+	 * @return The page source keyframe interval
+	 */
+	default int getPageSourceKeyframeInterval() {
+		return 10;
+	}
+	
+	/**
+	 * Format of screenshots stored by {@link ScreenshotListener}. Formats
+	 * other than PNG, scaling and thumbnails need decoding and encoding of
+	 * screenshot, which runs on test thread unless async report is enabled.
+	 * 
+	 * @return The screenshot format
+	 */
+	default ScreenshotFormat getScreenshotFormat() {
+		return ScreenshotFormat.PNG;
+	}
+	
+	/**
+	 * Scale of stored screenshots, 1 for original size.
+	 * 
+	 * @return The screenshot scale
+	 */
+	default double getScreenshotScale() {
+		return 1;
+	}
+	
+	/**
+	 * Quality of JPEG screenshots from 0 to 1.
+	 * 
+	 * @return The screenshot quality
+	 */
+	default double getScreenshotQuality() {
+		return 0.85;
+	}
+	
+	/**
+	 * Width of screenshot thumbnails in pixels, 0 for no thumbnails.
+	 * 
+	 * @return The screenshot thumbnail width
+	 */
+	default int getScreenshotThumbnail() {
+		return 0;
+	}
+	
+	/**
+	 * Count of last screenshots and page sources kept in memory and saved
+	 * only on failure or explicit report. Use 0 to save them immediately.
+	 * 
+	 * @return The artifacts retention
+	 */
+	default int getArtifactsRetention() {
+		return 0;
+	}
+	
+	/**
+	 * Are report files written and async safe listeners notified on
+	 * background thread. Everything is finished before {@link Seb#quit()}
+	 * returns.
+	 * 
+	 * @return Async report status
+	 */
+	default boolean isAsyncReport() {
+		return false;
+	}
+	
+	/**
+	 * Maximum count of async report tasks waiting for background thread.
+	 * Reporting waits when queue is full.
+	 * 
+	 * @return Async report queue size
+	 */
+	default int getAsyncReportQueueSize() {
+		return 64;
+	}
+	
 	/**
 	 * Is used for logging through {@link ConfigListener}.
 	 * It should represent configuration keys and values as they
@@ -168,6 +168,7 @@ public class SebElement implements SebContext, WebElement, WrapsElement, WrapsDr
 
 	@Override
 	public void submit() {
+		getSeb().forgetNavigatedUrl();
 		getWebElement().submit();
 	}
 
@@ -0,0 +1,149 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.element;
+
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import cz.etnetera.seb.SebUtils;
+import cz.etnetera.seb.processor.SebLazyInitProcessor;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.SuperMethodCall;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * Caches lazy initialization subclasses of {@link SebElement} generated for
+ * optional elements. Subclasses are cached per element class and class loader
+ * they were generated into. Both keys are held weakly and generated classes
+ * softly, so class loaders can be unloaded.
+ * 
+ * Classes generated at build time by {@link SebLazyInitProcessor} are
+ * preferred and runtime generation is used for unknown types only.
+ */
+public class SebElementLazyInitCache {
+
+	/**
+	 * Cache shared by all Seb instances.
+	 */
+	public static final SebElementLazyInitCache SHARED = new SebElementLazyInitCache();
+
+	/**
+	 * Suffix of lazy initialization classes generated at build time.
+	 */
+	public static final String CLASS_NAME_SUFFIX = "_SebLazyInit";
+
+	protected final Map<ClassLoader, Map<Class<?>, SoftReference<Class<?>>>> cache = new WeakHashMap<>();
+
+	protected final AtomicLong generatedCount = new AtomicLong();
+
+	protected final AtomicLong reusedCount = new AtomicLong();
+
+	protected final AtomicLong prebuiltCount = new AtomicLong();
+
+	protected final SebUtils utils = new SebUtils();
+
+	/**
+	 * Returns lazy initialization subclass of given element class loaded
+	 * into given class loader. It is generated on first request only.
+	 *
+	 * @param element
+	 *            The element class
+	 * @param loader
+	 *            The class loader to load generated class into
+	 * @return The lazy initialization subclass
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends SebElement> Class<? extends T> getLazyInitClass(Class<T> element,
+			ClassLoader loader) {
+		Map<Class<?>, SoftReference<Class<?>>> loaderCache = cache.get(loader);
+		if (loaderCache == null) {
+			loaderCache = new WeakHashMap<>();
+			cache.put(loader, loaderCache);
+		}
+		SoftReference<Class<?>> ref = loaderCache.get(element);
+		Class<?> lazyInitClass = ref == null ? null : ref.get();
+		if (lazyInitClass != null) {
+			reusedCount.incrementAndGet();
+			return (Class<? extends T>) lazyInitClass;
+		}
+		Class<? extends T> resolved = findPrebuiltLazyInitClass(element);
+		if (resolved != null) {
+			prebuiltCount.incrementAndGet();
+		} else {
+			resolved = generateLazyInitClass(element, loader);
+			generatedCount.incrementAndGet();
+		}
+		loaderCache.put(element, new SoftReference<>(resolved));
+		return resolved;
+	}
+
+	/**
+	 * Returns how many lazy initialization classes were generated.
+	 *
+	 * @return The generated classes count
+	 */
+	public long getGeneratedCount() {
+		return generatedCount.get();
+	}
+
+	/**
+	 * Returns how many times already generated lazy initialization class was
+	 * reused.
+	 *
+	 * @return The reused classes count
+	 */
+	public long getReusedCount() {
+		return reusedCount.get();
+	}
+
+	/**
+	 * Returns how many lazy initialization classes generated at build time
+	 * were found.
+	 *
+	 * @return The build time generated classes count
+	 */
+	public long getPrebuiltCount() {
+		return prebuiltCount.get();
+	}
+
+	/**
+	 * Removes all cached classes. Counters are kept.
+	 */
+	public synchronized void clear() {
+		cache.clear();
+	}
+
+	@SuppressWarnings("unchecked")
+	protected <T extends SebElement> Class<? extends T> findPrebuiltLazyInitClass(Class<T> element) {
+		try {
+			Class<?> prebuilt = Class.forName(utils.getGeneratedClassName(element.getName(), CLASS_NAME_SUFFIX),
+					false, element.getClassLoader());
+			return prebuilt.getSuperclass() == element ? (Class<? extends T>) prebuilt : null;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+	}
+
+	protected <T extends SebElement> Class<? extends T> generateLazyInitClass(Class<T> element, ClassLoader loader) {
+		return new ByteBuddy().subclass(element).method(ElementMatchers.isPublic())
+				.intercept(MethodDelegation.to(SebElementInterceptor.class).andThen(SuperMethodCall.INSTANCE)).make()
+				.load(loader, ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+	}
+
+}
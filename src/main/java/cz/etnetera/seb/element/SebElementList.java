@@ -49,4 +49,26 @@ public class SebElementList extends AbstractList<SebElement> {
 		return webElements.size();
 	}
 
+	/**
+	 * Returns elements wrapped by this list.
+	 * 
+	 * @return The wrapped elements
+	 */
+	public List<WebElement> getWebElements() {
+		return webElements;
+	}
+
+	/**
+	 * Fetches given properties of all elements in list using one script call.
+	 * See {@link SebElementProperties} for supported properties.
+	 * 
+	 * @param properties
+	 *            The properties to fetch, e.g. <code>text</code> or
+	 *            <code>attr:href</code>
+	 * @return The properties table with one row per element
+	 */
+	public SebElementProperties fetch(String... properties) {
+		return context.fetch(this, properties);
+	}
+
 }
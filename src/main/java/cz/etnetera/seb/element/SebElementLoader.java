@@ -49,6 +49,16 @@ public class SebElementLoader {
 				elementCls, optional);
 	}
 
+	public <T extends SebElement> T findOne(SebContext context, ElementLocator locator, Class<T> elementCls,
+			boolean optional) {
+		return findOne(context, context.getClass().getClassLoader(), locator, elementCls, optional);
+	}
+
+	public <T extends SebElement> T findOne(SebContext context, ClassLoader loader, ElementLocator locator,
+			Class<T> elementCls, boolean optional) {
+		return initSebElement(context, proxyForLocator(loader, locator), elementCls, optional);
+	}
+
 	public <T extends SebElement> List<T> find(SebContext context, By by, Class<T> elementCls) {
 		return initSebElements(context,
 				proxyForListLocator(context.getClass().getClassLoader(), context.createElementLocator(by)),
@@ -61,6 +71,25 @@ public class SebElementLoader {
 				elementCls);
 	}
 
+	public <T extends SebElement> List<T> find(SebContext context, ElementLocator locator, Class<T> elementCls) {
+		return find(context, context.getClass().getClassLoader(), locator, elementCls);
+	}
+
+	public <T extends SebElement> List<T> find(SebContext context, ClassLoader loader, ElementLocator locator,
+			Class<T> elementCls) {
+		return initSebElements(context, proxyForListLocator(loader, locator), elementCls);
+	}
+
+	public <T extends SebElement> List<T> findSnapshot(SebContext context, By by, Class<T> elementCls) {
+		return findSnapshot(context, context.createElementLocator(by), elementCls);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T extends SebElement> List<T> findSnapshot(SebContext context, ElementLocator locator,
+			Class<T> elementCls) {
+		return (List<T>) new SebElementSnapshotList(context, locator, elementCls);
+	}
+
 	public <T extends SebElement> T initSebElement(SebContext context, WebElement webElement,
 			Class<T> elementCls, boolean optional) {
 		return (T) context.initSebElement(elementCls, webElement, optional);
@@ -73,7 +102,8 @@ public class SebElementLoader {
 	}
 
 	protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
-		InvocationHandler handler = new LocatingElementHandler(locator);
+		InvocationHandler handler = locator instanceof SebElementLocator
+				? new SebLocatingElementHandler((SebElementLocator) locator) : new LocatingElementHandler(locator);
 		return (WebElement) Proxy.newProxyInstance(loader,
 				new Class[] { WebElement.class, WrapsElement.class, Locatable.class }, handler);
 	}
@@ -0,0 +1,255 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.element;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import cz.etnetera.seb.SebContext;
+
+/**
+ * Element locator which shares found elements through
+ * {@link SebElementLocatorCache}. It behaves like
+ * {@link DefaultElementLocator} if lookup is cached locally.
+ * Lists of elements are always located again as they change often.
+ * 
+ * If locators are composed, element nested in modules is located by one
+ * query from page or Seb context. It is possible only when all locators in
+ * the chain are CSS selectors or all are XPath expressions and every module
+ * is located by {@link SebElementLocator}. Otherwise each parent is located
+ * separately as usual. Composed XPath is scoped to the first parent match
+ * like chained lookup. CSS can not express that, so CSS selectors are
+ * composed only under parent located by plain id selector.
+ */
+public class SebElementLocator implements ElementLocator {
+
+	protected static final String CSS_PREFIX = "By.cssSelector:";
+
+	protected static final String XPATH_PREFIX = "By.xpath:";
+
+	/**
+	 * Characters which can not start relative XPath appended to parent.
+	 */
+	protected static final String RELATIVE_XPATH_START = "/.($";
+
+	/**
+	 * Plain id selector, optionally with tag name, which matches one element.
+	 */
+	protected static final Pattern ID_SELECTOR = Pattern.compile("^(?:[A-Za-z][\\w-]*)?#-?[A-Za-z_][\\w-]*$");
+
+	protected final SearchContext searchContext;
+
+	protected final By by;
+
+	protected final boolean lookupCached;
+
+	protected final SebElementLocatorCache cache;
+
+	protected boolean composeLocators;
+
+	protected Composition composition;
+
+	protected WebElement cachedElement;
+
+	protected List<WebElement> cachedElementList;
+
+	public SebElementLocator(SearchContext searchContext, By by, boolean lookupCached,
+			SebElementLocatorCache cache) {
+		this(searchContext, by, lookupCached, cache, false);
+	}
+
+	public SebElementLocator(SearchContext searchContext, By by, boolean lookupCached,
+			SebElementLocatorCache cache, boolean composeLocators) {
+		this.searchContext = searchContext;
+		this.by = by;
+		this.lookupCached = lookupCached;
+		this.cache = cache;
+		this.composeLocators = composeLocators;
+	}
+
+	@Override
+	public WebElement findElement() {
+		if (lookupCached) {
+			if (cachedElement == null)
+				cachedElement = locateElement();
+			return cachedElement;
+		}
+		if (cache == null)
+			return locateElement();
+		WebElement element = cache.get(searchContext, by);
+		if (element == null) {
+			element = locateElement();
+			cache.put(searchContext, by, element);
+		}
+		return element;
+	}
+
+	@Override
+	public List<WebElement> findElements() {
+		if (lookupCached) {
+			if (cachedElementList == null)
+				cachedElementList = locateElements();
+			return cachedElementList;
+		}
+		return locateElements();
+	}
+
+	protected WebElement locateElement() {
+		Composition composed = getComposition();
+		if (composed != null) {
+			try {
+				return composed.root.findElement(composed.by);
+			} catch (InvalidSelectorException e) {
+				composeLocators = false;
+			}
+		}
+		return searchContext.findElement(by);
+	}
+
+	protected List<WebElement> locateElements() {
+		Composition composed = getComposition();
+		if (composed != null) {
+			try {
+				return composed.root.findElements(composed.by);
+			} catch (InvalidSelectorException e) {
+				composeLocators = false;
+			}
+		}
+		return searchContext.findElements(by);
+	}
+
+	/**
+	 * Returns locator composed with all parent locators or null if locators
+	 * are not composed or can not be composed.
+	 * 
+	 * @return The composition or null
+	 */
+	protected Composition getComposition() {
+		if (!composeLocators)
+			return null;
+		if (composition == null) {
+			composition = compose();
+			if (composition == null)
+				composeLocators = false;
+		}
+		return composition;
+	}
+
+	protected Composition compose() {
+		if (!(searchContext instanceof SebElement))
+			return searchContext instanceof SebContext ? new Composition(searchContext, by) : null;
+		// field is accessed directly, so optional parent is not initialized
+		WebElement parentElement = ((SebElement) searchContext).webElement;
+		if (parentElement == null || !Proxy.isProxyClass(parentElement.getClass()))
+			return null;
+		InvocationHandler handler = Proxy.getInvocationHandler(parentElement);
+		if (!(handler instanceof SebLocatingElementHandler))
+			return null;
+		SebElementLocator parent = ((SebLocatingElementHandler) handler).getLocator();
+		Composition parentComposition = parent.compose();
+		if (parentComposition == null)
+			return null;
+		By composed = compose(parentComposition.by, by);
+		return composed == null ? null : new Composition(parentComposition.root, composed);
+	}
+
+	/**
+	 * Composes parent and child locator into one or returns null if it is
+	 * not possible. Composed locator must search under first parent match
+	 * only, so CSS selectors are composed only if parent is id selector.
+	 * 
+	 * @param parent
+	 *            The parent locator
+	 * @param child
+	 *            The child locator searched within parent element
+	 * @return The composed locator or null
+	 */
+	protected By compose(By parent, By child) {
+		String parentCss = getSelector(parent, By.ByCssSelector.class, CSS_PREFIX);
+		String childCss = getSelector(child, By.ByCssSelector.class, CSS_PREFIX);
+		if (parentCss != null && childCss != null) {
+			if (!ID_SELECTOR.matcher(parentCss).matches() || childCss.indexOf(',') >= 0)
+				return null;
+			return By.cssSelector(parentCss + " " + childCss);
+		}
+		String parentXpath = getSelector(parent, By.ByXPath.class, XPATH_PREFIX);
+		String childXpath = getSelector(child, By.ByXPath.class, XPATH_PREFIX);
+		if (parentXpath != null && childXpath != null) {
+			if (childXpath.startsWith("./"))
+				return By.xpath("(" + parentXpath + ")[1]" + childXpath.substring(1));
+			if (!childXpath.isEmpty() && RELATIVE_XPATH_START.indexOf(childXpath.charAt(0)) < 0
+					&& childXpath.indexOf('|') < 0)
+				return By.xpath("(" + parentXpath + ")[1]/" + childXpath);
+		}
+		return null;
+	}
+
+	protected String getSelector(By locator, Class<? extends By> cls, String prefix) {
+		if (locator.getClass() != cls)
+			return null;
+		String str = locator.toString();
+		return str.startsWith(prefix) ? str.substring(prefix.length()).trim() : null;
+	}
+
+	/**
+	 * Forgets found element, so it is located again on next use. It is
+	 * called when found element is stale.
+	 */
+	public void invalidate() {
+		cachedElement = null;
+		cachedElementList = null;
+		if (cache != null)
+			cache.remove(searchContext, by);
+	}
+
+	public SearchContext getSearchContext() {
+		return searchContext;
+	}
+
+	public By getBy() {
+		return by;
+	}
+
+	/**
+	 * Locator composed from whole chain and context it is searched in.
+	 */
+	protected static class Composition {
+
+		protected final SearchContext root;
+
+		protected final By by;
+
+		public Composition(SearchContext root, By by) {
+			this.root = root;
+			this.by = by;
+		}
+
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " '" + by + "'";
+	}
+
+}
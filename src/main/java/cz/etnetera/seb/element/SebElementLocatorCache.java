@@ -0,0 +1,159 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.element;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import cz.etnetera.seb.configuration.BasicSebConfiguration;
+import cz.etnetera.seb.event.impl.AfterDriverQuitEvent;
+import cz.etnetera.seb.event.impl.AfterNavigateBackEvent;
+import cz.etnetera.seb.event.impl.AfterNavigateForwardEvent;
+import cz.etnetera.seb.event.impl.AfterNavigateRefreshEvent;
+import cz.etnetera.seb.event.impl.AfterNavigateToEvent;
+import cz.etnetera.seb.event.impl.AfterPageInitEvent;
+import cz.etnetera.seb.listener.SebListener;
+
+/**
+ * Caches elements found by {@link SebElementLocator}s, so repeated calls on
+ * the same element do not locate it again. Elements are cached per search
+ * context instance and {@link By}.
+ * 
+ * Cache is cleared after navigation and page initialization, stale elements
+ * are removed by {@link SebLocatingElementHandler}. It is enabled using
+ * {@link BasicSebConfiguration#ELEMENT_CACHE}.
+ */
+public class SebElementLocatorCache extends SebListener {
+
+	protected final Map<Key, WebElement> elements = new ConcurrentHashMap<>();
+
+	protected final AtomicLong hitCount = new AtomicLong();
+
+	protected final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Returns cached element or null.
+	 * 
+	 * @param searchContext
+	 *            The search context element was found in
+	 * @param by
+	 *            The locating mechanism
+	 * @return The cached element or null
+	 */
+	public WebElement get(SearchContext searchContext, By by) {
+		WebElement element = elements.get(new Key(searchContext, by));
+		(element == null ? missCount : hitCount).incrementAndGet();
+		return element;
+	}
+
+	public void put(SearchContext searchContext, By by, WebElement element) {
+		elements.put(new Key(searchContext, by), element);
+	}
+
+	public void remove(SearchContext searchContext, By by) {
+		elements.remove(new Key(searchContext, by));
+	}
+
+	/**
+	 * Removes all cached elements.
+	 */
+	public void clear() {
+		elements.clear();
+	}
+
+	/**
+	 * Returns how many times cached element was used.
+	 * 
+	 * @return The hit count
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Returns how many times element was not cached.
+	 * 
+	 * @return The miss count
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	@Override
+	public void afterNavigateTo(AfterNavigateToEvent event) {
+		clear();
+	}
+
+	@Override
+	public void afterNavigateBack(AfterNavigateBackEvent event) {
+		clear();
+	}
+
+	@Override
+	public void afterNavigateForward(AfterNavigateForwardEvent event) {
+		clear();
+	}
+
+	@Override
+	public void afterNavigateRefresh(AfterNavigateRefreshEvent event) {
+		clear();
+	}
+
+	@Override
+	public void afterPageInit(AfterPageInitEvent event) {
+		clear();
+	}
+
+	@Override
+	public void afterDriverQuit(AfterDriverQuitEvent event) {
+		clear();
+	}
+
+	/**
+	 * Cache key. Search context is compared by identity, so optional
+	 * elements used as context are not initialized by hashing.
+	 */
+	protected static class Key {
+
+		protected final SearchContext searchContext;
+
+		protected final By by;
+
+		public Key(SearchContext searchContext, By by) {
+			this.searchContext = searchContext;
+			this.by = by;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(searchContext) + by.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return searchContext == other.searchContext && by.equals(other.by);
+		}
+
+	}
+
+}
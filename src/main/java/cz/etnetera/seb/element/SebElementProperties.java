@@ -0,0 +1,288 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.element;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import cz.etnetera.seb.SebContext;
+import cz.etnetera.seb.SebException;
+
+/**
+ * Table of element properties fetched using
+ * {@link SebContext#fetch(List, String...)}. Every row belongs to one
+ * element, every column to one requested property.
+ *
+ * Supported properties are:
+ * <ul>
+ * <li><code>text</code> - visible text, trimmed</li>
+ * <li><code>displayed</code> - true if element is rendered and visible</li>
+ * <li><code>classes</code> - unique sorted class names same as
+ * {@link SebElement#getClasses()}</li>
+ * <li><code>tag</code> - lower case tag name</li>
+ * <li><code>value</code> - value property</li>
+ * <li><code>attr:name</code> - value of attribute</li>
+ * <li><code>prop:name</code> - value of DOM property</li>
+ * <li><code>css:name</code> - computed style value</li>
+ * </ul>
+ *
+ * Values are read in browser in one script call, so <code>text</code> and
+ * <code>displayed</code> can slightly differ from
+ * {@link SebElement#getText()} and {@link SebElement#isDisplayed()} which
+ * are computed by driver.
+ */
+public class SebElementProperties {
+
+	/**
+	 * Script reading properties. First argument is list of elements, second
+	 * one list of [kind, name] property pairs.
+	 */
+	public static final String SCRIPT = "var els = arguments[0], props = arguments[1], rows = [];"
+			+ "function displayed(el) {"
+			+ " if (!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) return false;"
+			+ " var style = window.getComputedStyle(el);"
+			+ " return style.visibility !== 'hidden' && style.visibility !== 'collapse' && style.opacity !== '0'; }"
+			+ "function read(el, kind, name) {"
+			+ " switch (kind) {"
+			+ " case 'text': return displayed(el) ? (el.innerText || el.textContent || '').trim() : '';"
+			+ " case 'displayed': return displayed(el);"
+			+ " case 'classes': return el.getAttribute('class');"
+			+ " case 'tag': return el.tagName.toLowerCase();"
+			+ " case 'value': return el.value === undefined ? null : el.value;"
+			+ " case 'attr': return el.getAttribute(name);"
+			+ " case 'prop': return el[name] === undefined ? null : el[name];"
+			+ " case 'css': return window.getComputedStyle(el).getPropertyValue(name);"
+			+ " } }"
+			+ "for (var i = 0; i < els.length; i++) {"
+			+ " var row = [];"
+			+ " for (var j = 0; j < props.length; j++) row.push(read(els[i], props[j][0], props[j][1]));"
+			+ " rows.push(row); }"
+			+ "return rows;";
+
+	protected static final List<String> SIMPLE_KINDS = Arrays.asList("text", "displayed", "classes", "tag", "value");
+
+	protected static final List<String> NAMED_KINDS = Arrays.asList("attr", "prop", "css");
+
+	protected static final String CLASSES = "classes";
+
+	protected final List<String> properties;
+
+	protected final List<List<Object>> rows;
+
+	public SebElementProperties(List<String> properties, List<List<Object>> rows) {
+		this.properties = Collections.unmodifiableList(new ArrayList<>(properties));
+		this.rows = rows;
+	}
+
+	/**
+	 * Converts properties into [kind, name] pairs passed into
+	 * {@link #SCRIPT}.
+	 *
+	 * @param properties
+	 *            The properties
+	 * @return The script argument
+	 * @throws SebException
+	 *             If some property is not supported
+	 */
+	public static List<List<String>> toScriptArgument(String... properties) {
+		List<List<String>> specs = new ArrayList<>(properties.length);
+		for (String property : properties) {
+			int separator = property == null ? -1 : property.indexOf(':');
+			String kind = separator < 0 ? property : property.substring(0, separator);
+			String name = separator < 0 ? null : property.substring(separator + 1);
+			if (separator < 0 ? !SIMPLE_KINDS.contains(kind) : !NAMED_KINDS.contains(kind) || name.isEmpty())
+				throw new SebException("Unsupported element property " + property);
+			specs.add(Arrays.asList(kind, name));
+		}
+		return specs;
+	}
+
+	/**
+	 * Creates properties table from script result.
+	 *
+	 * @param properties
+	 *            The requested properties
+	 * @param result
+	 *            The {@link #SCRIPT} result
+	 * @return The properties table
+	 */
+	@SuppressWarnings("unchecked")
+	public static SebElementProperties fromScriptResult(List<String> properties, Object result) {
+		List<List<Object>> rows = new ArrayList<>();
+		if (result instanceof List) {
+			for (Object row : (List<Object>) result) {
+				List<Object> values = new ArrayList<>((List<Object>) row);
+				for (int i = 0; i < properties.size(); i++) {
+					if (CLASSES.equals(properties.get(i)))
+						values.set(i, toClasses((String) values.get(i)));
+				}
+				rows.add(Collections.unmodifiableList(values));
+			}
+		}
+		return new SebElementProperties(properties, Collections.unmodifiableList(rows));
+	}
+
+	/**
+	 * Returns requested properties in requested order.
+	 *
+	 * @return The properties
+	 */
+	public List<String> getProperties() {
+		return properties;
+	}
+
+	/**
+	 * Returns elements count.
+	 *
+	 * @return The rows count
+	 */
+	public int size() {
+		return rows.size();
+	}
+
+	/**
+	 * Returns all values of element on given index in properties order.
+	 *
+	 * @param index
+	 *            The element index
+	 * @return The element values
+	 */
+	public List<Object> getRow(int index) {
+		return rows.get(index);
+	}
+
+	/**
+	 * Returns values of given property for all elements.
+	 *
+	 * @param property
+	 *            The property
+	 * @return The property values
+	 */
+	public List<Object> getColumn(String property) {
+		int column = getColumnIndex(property);
+		return rows.stream().map(r -> r.get(column)).collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns values of given property for all elements as strings.
+	 *
+	 * @param property
+	 *            The property
+	 * @return The property values
+	 */
+	public List<String> getStrings(String property) {
+		return getColumn(property).stream().map(v -> v == null ? null : String.valueOf(v))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns value of given property for element on given index.
+	 *
+	 * @param index
+	 *            The element index
+	 * @param property
+	 *            The property
+	 * @return The value
+	 */
+	public Object get(int index, String property) {
+		return rows.get(index).get(getColumnIndex(property));
+	}
+
+	/**
+	 * Returns value of given property for element on given index as string.
+	 *
+	 * @param index
+	 *            The element index
+	 * @param property
+	 *            The property
+	 * @return The value
+	 */
+	public String getString(int index, String property) {
+		Object value = get(index, property);
+		return value == null ? null : String.valueOf(value);
+	}
+
+	/**
+	 * Returns value of given property for element on given index as boolean.
+	 *
+	 * @param index
+	 *            The element index
+	 * @param property
+	 *            The property
+	 * @return The value
+	 */
+	public boolean getBoolean(int index, String property) {
+		Object value = get(index, property);
+		return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(String.valueOf(value));
+	}
+
+	/**
+	 * Returns value of given property for element on given index as number.
+	 *
+	 * @param index
+	 *            The element index
+	 * @param property
+	 *            The property
+	 * @return The value
+	 */
+	public Number getNumber(int index, String property) {
+		Object value = get(index, property);
+		if (value == null || value instanceof Number)
+			return (Number) value;
+		return Double.valueOf(String.valueOf(value));
+	}
+
+	/**
+	 * Returns value of given property for element on given index as list of
+	 * strings, e.g. for <code>classes</code>.
+	 *
+	 * @param index
+	 *            The element index
+	 * @param property
+	 *            The property
+	 * @return The value
+	 */
+	@SuppressWarnings("unchecked")
+	public List<String> getList(int index, String property) {
+		Object value = get(index, property);
+		if (value == null)
+			return Collections.emptyList();
+		if (value instanceof List)
+			return ((List<Object>) value).stream().map(String::valueOf).collect(Collectors.toList());
+		return Collections.singletonList(String.valueOf(value));
+	}
+
+	protected int getColumnIndex(String property) {
+		int column = properties.indexOf(property);
+		if (column < 0)
+			throw new SebException("Property " + property + " was not fetched");
+		return column;
+	}
+
+	protected static List<String> toClasses(String classAttr) {
+		return Collections.unmodifiableList(Stream.of((classAttr == null ? "" : classAttr).trim().split("\\s+"))
+				.distinct().sorted().collect(Collectors.toList()));
+	}
+
+	@Override
+	public String toString() {
+		return properties + " " + rows;
+	}
+
+}
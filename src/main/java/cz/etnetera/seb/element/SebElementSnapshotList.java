@@ -0,0 +1,187 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.element;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.Locatable;
+import org.openqa.selenium.internal.WrapsElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import cz.etnetera.seb.SebContext;
+
+/**
+ * List which locates its elements once and keeps them until
+ * {@link #refresh()} is called. Standard {@link SebElementList} locates
+ * elements on every {@link #get(int)} and {@link #size()} call.
+ *
+ * Elements are relocated automatically when some of them is stale. Element
+ * instances are kept, so element taken from the list before relocation
+ * uses new element on the same index.
+ */
+public class SebElementSnapshotList extends SebElementList {
+
+	protected ElementLocator locator;
+
+	protected List<WebElement> handles;
+
+	protected List<SebElement> elements;
+
+	/**
+	 * Handles found by locate in progress, elements being initialized use
+	 * them.
+	 */
+	protected List<WebElement> locatingHandles;
+
+	public SebElementSnapshotList(SebContext context, ElementLocator locator,
+			Class<? extends SebElement> elementCls) {
+		super(context, new ArrayList<>(), elementCls);
+		this.locator = locator;
+	}
+
+	@Override
+	public SebElement get(int index) {
+		locate(false);
+		return elements.get(index);
+	}
+
+	@Override
+	public int size() {
+		locate(false);
+		return elements.size();
+	}
+
+	@Override
+	public List<WebElement> getWebElements() {
+		locate(false);
+		return webElements;
+	}
+
+	/**
+	 * Forces elements to be located again on next access.
+	 *
+	 * @return This instance for chaining
+	 */
+	public SebElementSnapshotList refresh() {
+		handles = null;
+		return this;
+	}
+
+	/**
+	 * Returns true if elements are located and not refreshed since.
+	 *
+	 * @return True if elements are located
+	 */
+	public boolean isLocated() {
+		return handles != null;
+	}
+
+	/**
+	 * Locates elements again if forced or not located yet. Elements are
+	 * built aside and published only when all of them are initialized, so
+	 * failed initialization keeps previous state. Relocation requested while
+	 * locating, e.g. by stale element, is ignored.
+	 * 
+	 * @param force
+	 *            Locate even if elements are located
+	 */
+	protected void locate(boolean force) {
+		if (locatingHandles != null || handles != null && !force)
+			return;
+		List<WebElement> found = locator.findElements();
+		int kept = elements == null ? 0 : Math.min(elements.size(), found.size());
+		List<SebElement> located = new ArrayList<>(found.size());
+		List<WebElement> proxies = new ArrayList<>(found.size());
+		if (kept > 0) {
+			located.addAll(elements.subList(0, kept));
+			proxies.addAll(webElements.subList(0, kept));
+		}
+		locatingHandles = found;
+		try {
+			for (int i = kept; i < found.size(); i++) {
+				WebElement proxy = proxyForIndex(i);
+				proxies.add(proxy);
+				located.add(context.initSebElement(elementCls, proxy, false));
+			}
+		} finally {
+			locatingHandles = null;
+		}
+		webElements.clear();
+		webElements.addAll(proxies);
+		elements = located;
+		handles = found;
+	}
+
+	protected List<WebElement> getHandles() {
+		locate(false);
+		return locatingHandles != null ? locatingHandles : handles;
+	}
+
+	protected WebElement getHandle(int index) {
+		List<WebElement> current = getHandles();
+		if (index >= current.size())
+			throw new NoSuchElementException("Element on index " + index + " is no longer present");
+		return current.get(index);
+	}
+
+	protected WebElement proxyForIndex(int index) {
+		return (WebElement) Proxy.newProxyInstance(context.getClass().getClassLoader(),
+				new Class<?>[] { WebElement.class, WrapsElement.class, Locatable.class }, new SnapshotElementHandler(index));
+	}
+
+	/**
+	 * Handler which delegates to element on given index and relocates the
+	 * list once if element is stale.
+	 */
+	protected class SnapshotElementHandler implements InvocationHandler {
+
+		protected final int index;
+
+		public SnapshotElementHandler(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			WebElement handle = getHandle(index);
+			if ("getWrappedElement".equals(method.getName()))
+				return handle;
+			try {
+				return method.invoke(handle, args);
+			} catch (InvocationTargetException e) {
+				if (!(e.getCause() instanceof StaleElementReferenceException))
+					throw e.getCause();
+				locate(true);
+				if (index >= getHandles().size())
+					throw e.getCause();
+			}
+			try {
+				return method.invoke(getHandle(index), args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,44 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.element;
+
+import cz.etnetera.seb.SebContext;
+import cz.etnetera.seb.processor.SebElementsProcessor;
+
+/**
+ * Initializes element fields declared in one {@link SebContext} class.
+ * Implementations are generated at build time by
+ * {@link SebElementsProcessor}.
+ *
+ * @param <T>
+ *            The context class whose fields are initialized
+ */
+public interface SebElementsInitializer<T> {
+
+	/**
+	 * Suffix of initializer classes generated at build time.
+	 */
+	public static final String CLASS_NAME_SUFFIX = "_SebElements";
+
+	/**
+	 * Initializes fields declared directly in context class. Fields declared
+	 * in superclasses are not touched.
+	 *
+	 * @param context
+	 *            The context instance
+	 */
+	public void initElements(T context);
+
+}
@@ -0,0 +1,180 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.element;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import cz.etnetera.seb.SebContext;
+import cz.etnetera.seb.SebUtils;
+import cz.etnetera.seb.element.SebFieldDecorator.FieldDescriptor;
+import cz.etnetera.seb.processor.SebElementsProcessor;
+
+/**
+ * Caches {@link SebElementsInitializer} chains of {@link SebContext}
+ * classes. Chain contains one initializer for every class in hierarchy
+ * which declares element fields, starting with context class itself same
+ * as {@link org.openqa.selenium.support.PageFactory} does.
+ *
+ * Initializers generated at build time by {@link SebElementsProcessor} are
+ * preferred, reflective {@link SebFieldDecorator} is used for other classes
+ * and for classes overriding {@link SebContext#createElementLocator(java.lang.reflect.Field)}
+ * or initialized by Seb overriding
+ * {@link cz.etnetera.seb.Seb#createElementLocator(org.openqa.selenium.SearchContext, java.lang.reflect.Field)}.
+ */
+public class SebElementsInitializerCache {
+
+	/**
+	 * Cache shared by all Seb instances.
+	 */
+	public static final SebElementsInitializerCache SHARED = new SebElementsInitializerCache();
+
+	protected final ClassValue<List<SebElementsInitializer<SebContext>>> initializers = new ClassValue<List<SebElementsInitializer<SebContext>>>() {
+		@Override
+		protected List<SebElementsInitializer<SebContext>> computeValue(Class<?> type) {
+			return resolveInitializers(type, true);
+		}
+	};
+
+	protected final ClassValue<List<SebElementsInitializer<SebContext>>> reflectiveInitializers = new ClassValue<List<SebElementsInitializer<SebContext>>>() {
+		@Override
+		protected List<SebElementsInitializer<SebContext>> computeValue(Class<?> type) {
+			return resolveInitializers(type, false);
+		}
+	};
+
+	protected final AtomicLong prebuiltCount = new AtomicLong();
+
+	protected final AtomicLong reflectiveCount = new AtomicLong();
+
+	protected final SebUtils utils = new SebUtils();
+
+	/**
+	 * Returns initializers of given context class. The chain is resolved
+	 * on first request only.
+	 *
+	 * @param cls
+	 *            The context class
+	 * @return The initializers chain
+	 */
+	public List<SebElementsInitializer<SebContext>> getInitializers(Class<?> cls) {
+		return initializers.get(cls);
+	}
+
+	/**
+	 * Returns initializers of given context class. Initializers generated
+	 * at build time are skipped if they are not allowed.
+	 *
+	 * @param cls
+	 *            The context class
+	 * @param prebuiltAllowed
+	 *            Can build time generated initializers be used
+	 * @return The initializers chain
+	 */
+	public List<SebElementsInitializer<SebContext>> getInitializers(Class<?> cls, boolean prebuiltAllowed) {
+		return prebuiltAllowed ? initializers.get(cls) : reflectiveInitializers.get(cls);
+	}
+
+	/**
+	 * Returns how many initializers generated at build time were found.
+	 *
+	 * @return The build time generated initializers count
+	 */
+	public long getPrebuiltCount() {
+		return prebuiltCount.get();
+	}
+
+	/**
+	 * Returns how many classes are initialized using reflection.
+	 *
+	 * @return The reflective initializers count
+	 */
+	public long getReflectiveCount() {
+		return reflectiveCount.get();
+	}
+
+	protected List<SebElementsInitializer<SebContext>> resolveInitializers(Class<?> cls, boolean prebuiltAllowed) {
+		List<SebElementsInitializer<SebContext>> chain = new ArrayList<>();
+		prebuiltAllowed = prebuiltAllowed && !SebFieldDecorator.isFieldLocatorOverridden(cls);
+		for (Class<?> level = cls; level != null && level != Object.class; level = level.getSuperclass()) {
+			SebElementsInitializer<SebContext> initializer = prebuiltAllowed ? findPrebuiltInitializer(level) : null;
+			if (initializer != null) {
+				prebuiltCount.incrementAndGet();
+				chain.add(initializer);
+				continue;
+			}
+			FieldDescriptor[] descriptors = SebFieldDecorator.getFieldDescriptors(level);
+			if (descriptors.length > 0) {
+				reflectiveCount.incrementAndGet();
+				chain.add(new ReflectiveInitializer(descriptors));
+			}
+		}
+		return Collections.unmodifiableList(chain);
+	}
+
+	@SuppressWarnings("unchecked")
+	protected SebElementsInitializer<SebContext> findPrebuiltInitializer(Class<?> cls) {
+		if (cls.getClassLoader() == null)
+			return null;
+		Class<?> prebuilt;
+		try {
+			prebuilt = Class.forName(
+					utils.getGeneratedClassName(cls.getName(), SebElementsInitializer.CLASS_NAME_SUFFIX), true,
+					cls.getClassLoader());
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+		if (!isInitializerOf(prebuilt, cls))
+			return null;
+		try {
+			return (SebElementsInitializer<SebContext>) prebuilt.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	protected boolean isInitializerOf(Class<?> initializer, Class<?> cls) {
+		for (Type type : initializer.getGenericInterfaces()) {
+			if (type instanceof ParameterizedType
+					&& ((ParameterizedType) type).getRawType() == SebElementsInitializer.class)
+				return ((ParameterizedType) type).getActualTypeArguments()[0] == cls;
+		}
+		return false;
+	}
+
+	/**
+	 * Initializer used for classes without generated one. Decorated fields
+	 * are described once, only the decoration is done on each call.
+	 */
+	protected static class ReflectiveInitializer implements SebElementsInitializer<SebContext> {
+
+		protected final FieldDescriptor[] descriptors;
+
+		public ReflectiveInitializer(FieldDescriptor[] descriptors) {
+			this.descriptors = descriptors;
+		}
+
+		@Override
+		public void initElements(SebContext context) {
+			new SebFieldDecorator(context).decorateFields(context, descriptors);
+		}
+
+	}
+
+}
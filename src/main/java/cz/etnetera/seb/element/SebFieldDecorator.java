@@ -17,34 +17,178 @@ package cz.etnetera.seb.element;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindAll;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.FindBys;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
 import org.openqa.selenium.support.pagefactory.FieldDecorator;
 
+import cz.etnetera.seb.Seb;
 import cz.etnetera.seb.SebContext;
 
 /**
  * {@link PageFactory} decorator which uses {@link SebElementLoader}
- * for list loading. 
+ * for list loading. Field metadata are resolved once per class
+ * and cached as {@link FieldDescriptor}s.
  */
 public class SebFieldDecorator implements FieldDecorator {
 
-	protected static final String TYPE_NAME_PREFIX = "class ";
-	
+	protected static final ClassValue<FieldDescriptor[]> DESCRIPTORS = new ClassValue<FieldDescriptor[]>() {
+		@Override
+		protected FieldDescriptor[] computeValue(Class<?> type) {
+			List<FieldDescriptor> descriptors = new ArrayList<>();
+			for (Field field : type.getDeclaredFields()) {
+				FieldDescriptor descriptor = createFieldDescriptor(field);
+				if (descriptor != null) {
+					field.setAccessible(true);
+					descriptors.add(descriptor);
+				}
+			}
+			return descriptors.toArray(new FieldDescriptor[descriptors.size()]);
+		}
+	};
+
+	protected static final String FIELD_LOCATOR_METHOD = "createElementLocator";
+
+	protected static final ClassValue<Boolean> FIELD_LOCATOR_OVERRIDDEN = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			try {
+				return type.getMethod(FIELD_LOCATOR_METHOD, Field.class).getDeclaringClass() != SebContext.class;
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
+	};
+
+	protected static final ClassValue<Boolean> SEB_FIELD_LOCATOR_OVERRIDDEN = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			try {
+				return type.getMethod(FIELD_LOCATOR_METHOD, SearchContext.class, Field.class)
+						.getDeclaringClass() != Seb.class;
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
+	};
+
 	protected SebContext context;
 
+	protected boolean fieldLocators;
+
 	public SebFieldDecorator(SebContext context) {
 		this.context = context;
+		this.fieldLocators = isFieldLocatorOverridden(context.getClass())
+				|| isSebFieldLocatorOverridden(context.getSeb().getClass());
+	}
+
+	/**
+	 * Returns true if given context class overrides
+	 * {@link SebContext#createElementLocator(Field)}. Locators of such
+	 * context are created from fields, so the override is honored.
+	 * 
+	 * @param cls
+	 *            The context class
+	 * @return True if field locator is overridden
+	 */
+	public static boolean isFieldLocatorOverridden(Class<?> cls) {
+		return FIELD_LOCATOR_OVERRIDDEN.get(cls);
+	}
+
+	/**
+	 * Returns true if given Seb class overrides
+	 * {@link Seb#createElementLocator(SearchContext, Field)}. Locators of
+	 * contexts using such Seb are created from fields too.
+	 * 
+	 * @param cls
+	 *            The Seb class
+	 * @return True if field locator is overridden
+	 */
+	public static boolean isSebFieldLocatorOverridden(Class<?> cls) {
+		return SEB_FIELD_LOCATOR_OVERRIDDEN.get(cls);
 	}
 
-	@SuppressWarnings("unchecked")
 	public Object decorate(ClassLoader loader, Field field) {
-		if (!isSupported(field))
+		FieldDescriptor descriptor = createFieldDescriptor(field);
+		return descriptor == null ? null : decorate(loader, descriptor);
+	}
+
+	/**
+	 * Creates element or list of elements for given field descriptor.
+	 * 
+	 * @param loader
+	 *            The class loader used for element proxies
+	 * @param descriptor
+	 *            The field descriptor
+	 * @return The field value
+	 */
+	public Object decorate(ClassLoader loader, FieldDescriptor descriptor) {
+		ElementLocator locator = fieldLocators ? context.createElementLocator(descriptor.getField())
+				: context.createElementLocator(descriptor.getBy(), descriptor.isLookupCached());
+		if (!descriptor.isList()) {
+			return context.getSeb().getElementLoader().findOne(context, loader, locator,
+					descriptor.getElementClass(), !descriptor.isRequired());
+		} else if (descriptor.isSnapshot()) {
+			return context.getSeb().getElementLoader().findSnapshot(context, locator,
+					descriptor.getElementClass());
+		} else {
+			return context.getSeb().getElementLoader().find(context, loader, locator,
+					descriptor.getElementClass());
+		}
+	}
+
+	/**
+	 * Decorates fields of target object described by given descriptors same
+	 * way as {@link PageFactory} does.
+	 * 
+	 * @param target
+	 *            The object which fields are set
+	 * @param descriptors
+	 *            The descriptors of fields to decorate
+	 */
+	public void decorateFields(Object target, FieldDescriptor... descriptors) {
+		ClassLoader loader = target.getClass().getClassLoader();
+		for (FieldDescriptor descriptor : descriptors) {
+			try {
+				descriptor.getField().set(target, decorate(loader, descriptor));
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * Returns descriptors of fields declared in given class which are
+	 * decorated. Descriptors are created on first request only.
+	 * 
+	 * @param cls
+	 *            The class
+	 * @return The field descriptors
+	 */
+	public static FieldDescriptor[] getFieldDescriptors(Class<?> cls) {
+		return DESCRIPTORS.get(cls);
+	}
+
+	/**
+	 * Creates descriptor of given field or returns null if field is not
+	 * decorated.
+	 * 
+	 * @param field
+	 *            The field
+	 * @return The field descriptor or null
+	 */
+	@SuppressWarnings("unchecked")
+	protected static FieldDescriptor createFieldDescriptor(Field field) {
+		if (!isAnnotated(field))
 			return null;
 		Class<?> elementCls = null;
 		boolean isList = false;
@@ -57,40 +201,94 @@ public class SebFieldDecorator implements FieldDecorator {
 			}
 			Type listType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
 			elementCls = getClassFromType(listType);
-			if (!WebElement.class.isAssignableFrom(elementCls)) {
+			if (elementCls == null || !WebElement.class.isAssignableFrom(elementCls)) {
 				return null;
 			}
 			isList = true;
 		} else {
 			return null;
 		}
-		
+
 		if (!SebElement.class.isAssignableFrom(elementCls))
 			elementCls = SebElement.class;
 
-		if (!isList) {
-			return context.getSeb().getElementLoader().findOne(context, loader, field, (Class<? extends SebElement>) elementCls, !field.isAnnotationPresent(RequiredElement.class));
-		} else {
-			return context.getSeb().getElementLoader().find(context, loader, field, (Class<? extends SebElement>) elementCls);
-		}
+		Annotations annotations = new Annotations(field);
+		return new FieldDescriptor(field, (Class<? extends SebElement>) elementCls, isList,
+				field.isAnnotationPresent(RequiredElement.class), isList && field.isAnnotationPresent(SnapshotList.class),
+				annotations.buildBy(), annotations.isLookupCached());
 	}
 
-	protected boolean isSupported(Field field) {
+	protected static boolean isAnnotated(Field field) {
 		return field.isAnnotationPresent(FindByDefault.class) || field.isAnnotationPresent(FindBy.class)
 				|| field.isAnnotationPresent(FindBys.class) || field.isAnnotationPresent(FindAll.class);
 	}
-	
-	protected Class<?> getClassFromType(Type type) {
-		if (type == null)
-			return null;
-		String className = type.getTypeName();
-		if (className.startsWith(TYPE_NAME_PREFIX))
-			className = className.substring(TYPE_NAME_PREFIX.length());
-		try {
-			return Class.forName(className);
-		} catch (ClassNotFoundException e) {
-			return null;
+
+	protected static Class<?> getClassFromType(Type type) {
+		if (type instanceof Class)
+			return (Class<?>) type;
+		if (type instanceof ParameterizedType)
+			return getClassFromType(((ParameterizedType) type).getRawType());
+		return null;
+	}
+
+	/**
+	 * Metadata of decorated field.
+	 */
+	public static class FieldDescriptor {
+
+		protected final Field field;
+
+		protected final Class<? extends SebElement> elementClass;
+
+		protected final boolean list;
+
+		protected final boolean required;
+
+		protected final boolean snapshot;
+
+		protected final By by;
+
+		protected final boolean lookupCached;
+
+		public FieldDescriptor(Field field, Class<? extends SebElement> elementClass, boolean list,
+				boolean required, boolean snapshot, By by, boolean lookupCached) {
+			this.field = field;
+			this.elementClass = elementClass;
+			this.list = list;
+			this.required = required;
+			this.snapshot = snapshot;
+			this.by = by;
+			this.lookupCached = lookupCached;
 		}
+
+		public Field getField() {
+			return field;
+		}
+
+		public Class<? extends SebElement> getElementClass() {
+			return elementClass;
+		}
+
+		public boolean isList() {
+			return list;
+		}
+
+		public boolean isRequired() {
+			return required;
+		}
+
+		public boolean isSnapshot() {
+			return snapshot;
+		}
+
+		public By getBy() {
+			return by;
+		}
+
+		public boolean isLookupCached() {
+			return lookupCached;
+		}
+
 	}
 
 }
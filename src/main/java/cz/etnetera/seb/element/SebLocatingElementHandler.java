@@ -0,0 +1,68 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.element;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
+
+/**
+ * Same as {@link LocatingElementHandler} but it locates element again
+ * once when found element is stale.
+ */
+public class SebLocatingElementHandler implements InvocationHandler {
+
+	protected final SebElementLocator locator;
+
+	public SebLocatingElementHandler(SebElementLocator locator) {
+		this.locator = locator;
+	}
+
+	public SebElementLocator getLocator() {
+		return locator;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		WebElement element;
+		try {
+			element = locator.findElement();
+		} catch (NoSuchElementException e) {
+			if ("toString".equals(method.getName()))
+				return "Proxy element for: " + locator.toString();
+			throw e;
+		}
+		if ("getWrappedElement".equals(method.getName()))
+			return element;
+		try {
+			return method.invoke(element, args);
+		} catch (InvocationTargetException e) {
+			if (!(e.getCause() instanceof StaleElementReferenceException))
+				throw e.getCause();
+		}
+		locator.invalidate();
+		try {
+			return method.invoke(locator.findElement(), args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+}
@@ -15,12 +15,14 @@
 package cz.etnetera.seb.event;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 
 import org.openqa.selenium.WebDriver;
 
 import cz.etnetera.seb.Seb;
 import cz.etnetera.seb.SebContext;
+import cz.etnetera.seb.SebFileWriter;
 import cz.etnetera.seb.listener.SebListener;
 
 abstract public class SebEvent {
@@ -114,6 +116,14 @@ abstract public class SebEvent {
 		context.saveFile(file, getEventFileName(name), extension);
 	}
 	
+	public Path saveFile(SebFileWriter writer, String name, String extension) {
+		return context.saveFile(writer, getEventFileName(name), extension);
+	}
+	
+	public Path retainFile(SebFileWriter writer, String name, String extension) {
+		return context.retainFile(writer, getEventFileName(name), extension);
+	}
+	
 	protected String getEventFileName(String name) {
 		return context.getUtils().join(Seb.LABEL_DELIMITER, filePrefix, name);
 	}
@@ -23,18 +23,44 @@ public class OnFileSaveEvent extends SebEvent {
 
 	protected File file;
 
+	protected File contentFile;
+
 	public OnFileSaveEvent with(File file) {
 		this.file = file;
 		return this;
 	}
+
+	public OnFileSaveEvent with(File file, File contentFile) {
+		this.file = file;
+		this.contentFile = contentFile;
+		return this;
+	}
 	
 	@Override
 	protected void notifySpecific(SebListener listener) {
 		listener.onFileSave(this);
 	}
 
+	/**
+	 * Returns saved file. When report deduplication is enabled, it is hard
+	 * link to shared blob, or its copy if links are not supported, so it
+	 * must not be modified in place.
+	 * 
+	 * @return The saved file
+	 */
 	public File getFile() {
 		return file;
 	}
+
+	/**
+	 * Returns file with saved content. It differs from {@link #getFile()}
+	 * when report deduplication is enabled, content is stored in shared blob
+	 * then and the file is linked to it.
+	 * 
+	 * @return The content file
+	 */
+	public File getContentFile() {
+		return contentFile == null ? file : contentFile;
+	}
 	
 }
@@ -51,89 +51,106 @@ public class EventFiringSebBridgeListener implements WebDriverEventListener {
 
 	@Override
 	public void beforeNavigateTo(String url, WebDriver driver) {
-		triggerEvent(constructEvent(BeforeNavigateToEvent.class).with(url));
+		if (isSubscribed(BeforeNavigateToEvent.class))
+			triggerEvent(constructEvent(BeforeNavigateToEvent.class).with(url));
 	}
 
 	@Override
 	public void afterNavigateTo(String url, WebDriver driver) {
-		triggerEvent(constructEvent(AfterNavigateToEvent.class).with(url));
+		if (isSubscribed(AfterNavigateToEvent.class))
+			triggerEvent(constructEvent(AfterNavigateToEvent.class).with(url));
 	}
 
 	@Override
 	public void beforeNavigateBack(WebDriver driver) {
-		triggerEvent(constructEvent(BeforeNavigateBackEvent.class));
+		if (isSubscribed(BeforeNavigateBackEvent.class))
+			triggerEvent(constructEvent(BeforeNavigateBackEvent.class));
 	}
 
 	@Override
 	public void afterNavigateBack(WebDriver driver) {
-		triggerEvent(constructEvent(AfterNavigateBackEvent.class));
+		if (isSubscribed(AfterNavigateBackEvent.class))
+			triggerEvent(constructEvent(AfterNavigateBackEvent.class));
 	}
 
 	@Override
 	public void beforeNavigateForward(WebDriver driver) {
-		triggerEvent(constructEvent(BeforeNavigateForwardEvent.class));
+		if (isSubscribed(BeforeNavigateForwardEvent.class))
+			triggerEvent(constructEvent(BeforeNavigateForwardEvent.class));
 	}
 
 	@Override
 	public void afterNavigateForward(WebDriver driver) {
-		triggerEvent(constructEvent(AfterNavigateForwardEvent.class));
+		if (isSubscribed(AfterNavigateForwardEvent.class))
+			triggerEvent(constructEvent(AfterNavigateForwardEvent.class));
 	}
 	
 	@Override
 	public void beforeNavigateRefresh(WebDriver driver) {
-		triggerEvent(constructEvent(BeforeNavigateRefreshEvent.class));
+		if (isSubscribed(BeforeNavigateRefreshEvent.class))
+			triggerEvent(constructEvent(BeforeNavigateRefreshEvent.class));
 	}
 	
 	@Override
 	public void afterNavigateRefresh(WebDriver driver) {
-		triggerEvent(constructEvent(AfterNavigateRefreshEvent.class));
+		if (isSubscribed(AfterNavigateRefreshEvent.class))
+			triggerEvent(constructEvent(AfterNavigateRefreshEvent.class));
 	}
 
 	@Override
 	public void beforeFindBy(By by, WebElement element, WebDriver driver) {
-		triggerEvent(constructEvent(BeforeFindByEvent.class).with(by, element));
+		if (isSubscribed(BeforeFindByEvent.class))
+			triggerEvent(constructEvent(BeforeFindByEvent.class).with(by, element));
 	}
 
 	@Override
 	public void afterFindBy(By by, WebElement element, WebDriver driver) {
-		triggerEvent(constructEvent(AfterFindByEvent.class).with(by, element));
+		if (isSubscribed(AfterFindByEvent.class))
+			triggerEvent(constructEvent(AfterFindByEvent.class).with(by, element));
 	}
 
 	@Override
 	public void beforeClickOn(WebElement element, WebDriver driver) {
-		triggerEvent(constructEvent(BeforeClickOnEvent.class).with(element));
+		if (isSubscribed(BeforeClickOnEvent.class))
+			triggerEvent(constructEvent(BeforeClickOnEvent.class).with(element));
 	}
 
 	@Override
 	public void afterClickOn(WebElement element, WebDriver driver) {
-		triggerEvent(constructEvent(AfterClickOnEvent.class).with(element));
+		if (isSubscribed(AfterClickOnEvent.class))
+			triggerEvent(constructEvent(AfterClickOnEvent.class).with(element));
 	}
 
 	@Override
 	public void beforeChangeValueOf(WebElement element, WebDriver driver) {
-		triggerEvent(constructEvent(BeforeChangeValueOfEvent.class).with(element));
+		if (isSubscribed(BeforeChangeValueOfEvent.class))
+			triggerEvent(constructEvent(BeforeChangeValueOfEvent.class).with(element));
 	}
 
 	@Override
 	public void afterChangeValueOf(WebElement element, WebDriver driver) {
-		triggerEvent(constructEvent(AfterChangeValueOfEvent.class).with(element));
+		if (isSubscribed(AfterChangeValueOfEvent.class))
+			triggerEvent(constructEvent(AfterChangeValueOfEvent.class).with(element));
 	}
 
 	@Override
 	public void beforeScript(String script, WebDriver driver) {
-		triggerEvent(constructEvent(BeforeScriptEvent.class).with(script));
+		if (isSubscribed(BeforeScriptEvent.class))
+			triggerEvent(constructEvent(BeforeScriptEvent.class).with(script));
 	}
 
 	@Override
 	public void afterScript(String script, WebDriver driver) {
-		triggerEvent(constructEvent(AfterScriptEvent.class).with(script));
+		if (isSubscribed(AfterScriptEvent.class))
+			triggerEvent(constructEvent(AfterScriptEvent.class).with(script));
 	}
 
 	@Override
 	public void onException(Throwable throwable, WebDriver driver) {
 		// Log this event in finer level because real exception will be printed somewhere above.
 		// Otherwise there are all NoSuchElementException errors from SebElement.isPresent() calls.
-		triggerEvent(constructEvent(LogEvent.class).with(Level.FINER, "Webdriver exception", throwable));
+		if (isSubscribed(LogEvent.class))
+			triggerEvent(constructEvent(LogEvent.class).with(Level.FINER, "Webdriver exception", throwable));
 	}
 	
 	protected <T extends SebEvent> T constructEvent(Class<T> eventCls) {
@@ -143,5 +160,9 @@ public class EventFiringSebBridgeListener implements WebDriverEventListener {
 	protected void triggerEvent(SebEvent event) {
 		seb.triggerEvent(event);
 	}
+
+	protected boolean isSubscribed(Class<? extends SebEvent> eventCls) {
+		return seb.isSubscribed(eventCls);
+	}
 	
 }
@@ -15,7 +15,12 @@
 package cz.etnetera.seb.listener;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.openqa.selenium.WebDriver;
@@ -23,6 +28,7 @@ import org.openqa.selenium.WebElement;
 
 import cz.etnetera.seb.Seb;
 import cz.etnetera.seb.SebContext;
+import cz.etnetera.seb.SebFileWriter;
 import cz.etnetera.seb.configuration.SebConfiguration;
 import cz.etnetera.seb.event.SebEvent;
 import cz.etnetera.seb.event.impl.AfterChangeValueOfEvent;
@@ -61,6 +67,15 @@ import cz.etnetera.seb.page.Page;
 
 public class SebListener {
 
+	protected static final String IS_ENABLED_METHOD = "isEnabled";
+
+	protected static final String HANDLE_METHOD = "handle";
+
+	/**
+	 * Handler methods of built in events, used to find out subscription.
+	 */
+	protected static final Map<Class<? extends SebEvent>, String> HANDLER_METHODS = createHandlerMethods();
+
 	protected Seb seb;
 
 	protected String label;
@@ -90,6 +105,77 @@ public class SebListener {
 		return true;
 	}
 
+	/**
+	 * Returns true if listener can react on events of given class. Seb
+	 * skips constructing events nobody is subscribed to.
+	 * 
+	 * Listener is subscribed if event is enabled and its specific handler
+	 * method or {@link SebListener#handle(SebEvent)} is overridden. Handler
+	 * methods of built in events are listed in {@link #HANDLER_METHODS},
+	 * other events, including subclasses of built in ones, are always
+	 * subscribed. Enabled status is not used if
+	 * <code>isEnabled</code> methods are overridden, as their result can
+	 * change in time.
+	 * 
+	 * @param event
+	 *            The event class
+	 * @return Subscription status
+	 */
+	public boolean isSubscribed(Class<? extends SebEvent> event) {
+		if (!isOverridden(IS_ENABLED_METHOD, SebEvent.class) && !isOverridden(IS_ENABLED_METHOD, Class.class)
+				&& !isEnabled(event))
+			return false;
+		if (isOverridden(HANDLE_METHOD, SebEvent.class))
+			return true;
+		String method = HANDLER_METHODS.get(event);
+		return method == null || isOverridden(method, event);
+	}
+
+	/**
+	 * Returns true if listener can be notified on background thread when
+	 * async report is enabled, see {@link SebConfiguration#isAsyncReport()}.
+	 * Async safe listener must not use driver, page or other state which
+	 * can change on test thread, as events are handled later in order of
+	 * their triggering.
+	 * 
+	 * @return Async safe status
+	 */
+	public boolean isAsyncSafe() {
+		return false;
+	}
+
+	protected boolean isOverridden(String methodName, Class<?> parameterType) {
+		try {
+			return getClass().getMethod(methodName, parameterType).getDeclaringClass() != SebListener.class;
+		} catch (NoSuchMethodException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * Returns true if method of given class, including protected one, is
+	 * overridden by class of this listener.
+	 * 
+	 * @param base
+	 *            The class declaring the method
+	 * @param methodName
+	 *            The method name
+	 * @param parameterTypes
+	 *            The method parameter types
+	 * @return Overridden status
+	 */
+	protected boolean isOverridden(Class<?> base, String methodName, Class<?>... parameterTypes) {
+		for (Class<?> cls = getClass(); cls != base && cls != null; cls = cls.getSuperclass()) {
+			try {
+				cls.getDeclaredMethod(methodName, parameterTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// check superclass
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Enables specific events only. It overrides all disabled events.
 	 * 
@@ -100,12 +186,10 @@ public class SebListener {
 	@SuppressWarnings("unchecked")
 	public SebListener enable(Class<? extends SebEvent>... events) {
 		if (events != null) {
-			disabledEvents = null;
-			if (enabledEvents == null)
-				enabledEvents = new HashSet<>();
-			for (Class<? extends SebEvent> event : events) {
-				enabledEvents.add(event);
-			}
+			Set<Class<? extends SebEvent>> enabled = new HashSet<>(Arrays.asList(events));
+			if (enabledEvents != null)
+				enabled.addAll(enabledEvents);
+			setEnabledEvents(enabled);
 		}
 		return this;
 	}
@@ -120,16 +204,65 @@ public class SebListener {
 	@SuppressWarnings("unchecked")
 	public SebListener disable(Class<? extends SebEvent>... events) {
 		if (events != null) {
-			enabledEvents = null;
-			if (disabledEvents == null)
-				disabledEvents = new HashSet<>();
-			for (Class<? extends SebEvent> event : events) {
-				disabledEvents.add(event);
-			}
+			Set<Class<? extends SebEvent>> disabled = new HashSet<>(Arrays.asList(events));
+			if (disabledEvents != null)
+				disabled.addAll(disabledEvents);
+			setDisabledEvents(disabled);
 		}
 		return this;
 	}
 
+	/**
+	 * Returns events enabled only or null if not restricted this way.
+	 * 
+	 * @return The enabled events or null
+	 */
+	public Set<Class<? extends SebEvent>> getEnabledEvents() {
+		return enabledEvents == null ? null : Collections.unmodifiableSet(enabledEvents);
+	}
+
+	/**
+	 * Sets events enabled only, null for no restriction. It overrides all
+	 * disabled events and invalidates Seb subscriptions.
+	 * 
+	 * @param events
+	 *            The enabled events or null
+	 */
+	public void setEnabledEvents(Set<Class<? extends SebEvent>> events) {
+		enabledEvents = events == null ? null : new HashSet<>(events);
+		if (events != null)
+			disabledEvents = null;
+		invalidateSubscriptions();
+	}
+
+	/**
+	 * Returns disabled events or null if not restricted this way.
+	 * 
+	 * @return The disabled events or null
+	 */
+	public Set<Class<? extends SebEvent>> getDisabledEvents() {
+		return disabledEvents == null ? null : Collections.unmodifiableSet(disabledEvents);
+	}
+
+	/**
+	 * Sets disabled events, null for no restriction. It overrides all
+	 * enabled events and invalidates Seb subscriptions.
+	 * 
+	 * @param events
+	 *            The disabled events or null
+	 */
+	public void setDisabledEvents(Set<Class<? extends SebEvent>> events) {
+		disabledEvents = events == null ? null : new HashSet<>(events);
+		if (events != null)
+			enabledEvents = null;
+		invalidateSubscriptions();
+	}
+
+	protected void invalidateSubscriptions() {
+		if (seb != null)
+			seb.invalidateSubscriptions();
+	}
+
 	/**
 	 * Called on {@link SebContext#triggerEvent(SebEvent)}. This is basic
 	 * handler implementation which is called for every triggered event. Some
@@ -151,7 +284,8 @@ public class SebListener {
 
 	/**
 	 * Called on {@link SebContext#saveFile(File, String, String)} and similar
-	 * methods.
+	 * methods after the file is written. When async report is enabled, it is
+	 * called on test thread with next triggered event or report flush.
 	 *
 	 * @param event
 	 */
@@ -462,6 +596,34 @@ public class SebListener {
 		event.saveFile(file, getListenerFileName(name), extension);
 	}
 
+	/**
+	 * Save content written by writer into output file with given name and
+	 * extension.
+	 * 
+	 * @param event
+	 * @param writer
+	 * @param name
+	 * @param extension
+	 * @return The saved file path or null if nothing is saved
+	 */
+	protected Path saveFile(SebEvent event, SebFileWriter writer, String name, String extension) {
+		return event.saveFile(writer, getListenerFileName(name), extension);
+	}
+
+	/**
+	 * Keep content written by writer until failure or report, see
+	 * {@link SebContext#retainFile(SebFileWriter, String, String)}.
+	 * 
+	 * @param event
+	 * @param writer
+	 * @param name
+	 * @param extension
+	 * @return The saved file path or null if file is not saved now
+	 */
+	protected Path retainFile(SebEvent event, SebFileWriter writer, String name, String extension) {
+		return event.retainFile(writer, getListenerFileName(name), extension);
+	}
+
 	protected String getListenerFileName(String name) {
 		return seb.getUtils().join(Seb.LABEL_DELIMITER, label, name);
 	}
@@ -472,4 +634,40 @@ public class SebListener {
 		return name.endsWith(endTrim) ? name.substring(0, name.length() - endTrim.length()) : name;
 	}
 
+	protected static Map<Class<? extends SebEvent>, String> createHandlerMethods() {
+		Map<Class<? extends SebEvent>, String> methods = new HashMap<>();
+		methods.put(AfterChangeValueOfEvent.class, "afterChangeValueOf");
+		methods.put(AfterClickOnEvent.class, "afterClickOn");
+		methods.put(AfterDriverConstructEvent.class, "afterDriverConstruct");
+		methods.put(AfterDriverQuitEvent.class, "afterDriverQuit");
+		methods.put(AfterFindByEvent.class, "afterFindBy");
+		methods.put(AfterModuleInitEvent.class, "afterModuleInit");
+		methods.put(AfterNavigateBackEvent.class, "afterNavigateBack");
+		methods.put(AfterNavigateForwardEvent.class, "afterNavigateForward");
+		methods.put(AfterNavigateRefreshEvent.class, "afterNavigateRefresh");
+		methods.put(AfterNavigateToEvent.class, "afterNavigateTo");
+		methods.put(AfterPageInitEvent.class, "afterPageInit");
+		methods.put(AfterScriptEvent.class, "afterScript");
+		methods.put(AfterSebQuitEvent.class, "afterSebQuit");
+		methods.put(BeforeChangeValueOfEvent.class, "beforeChangeValueOf");
+		methods.put(BeforeClickOnEvent.class, "beforeClickOn");
+		methods.put(BeforeDriverConstructEvent.class, "beforeDriverConstruct");
+		methods.put(BeforeDriverQuitEvent.class, "beforeDriverQuit");
+		methods.put(BeforeFindByEvent.class, "beforeFindBy");
+		methods.put(BeforeModuleInitEvent.class, "beforeModuleInit");
+		methods.put(BeforeNavigateBackEvent.class, "beforeNavigateBack");
+		methods.put(BeforeNavigateForwardEvent.class, "beforeNavigateForward");
+		methods.put(BeforeNavigateRefreshEvent.class, "beforeNavigateRefresh");
+		methods.put(BeforeNavigateToEvent.class, "beforeNavigateTo");
+		methods.put(BeforePageInitEvent.class, "beforePageInit");
+		methods.put(BeforeScriptEvent.class, "beforeScript");
+		methods.put(BeforeSebQuitEvent.class, "beforeSebQuit");
+		methods.put(LogEvent.class, "log");
+		methods.put(OnExceptionEvent.class, "onException");
+		methods.put(OnFileSaveEvent.class, "onFileSave");
+		methods.put(OnReportEvent.class, "onReport");
+		methods.put(OnSebStartEvent.class, "onSebStart");
+		return Collections.unmodifiableMap(methods);
+	}
+
 }
@@ -5,6 +5,7 @@ import java.util.logging.Level;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
+import cz.etnetera.seb.event.SebEvent;
 import cz.etnetera.seb.event.impl.AfterDriverConstructEvent;
 import cz.etnetera.seb.event.impl.AfterDriverQuitEvent;
 import cz.etnetera.seb.event.impl.AfterSebQuitEvent;
@@ -25,19 +26,48 @@ import cz.etnetera.seb.event.impl.OnSebStartEvent;
 import cz.etnetera.seb.listener.SebListener;
 
 public class LoggingListener extends SebListener {
+
+	/**
+	 * Skips events which would be logged below Seb log level, so they are
+	 * not constructed at all. Handlers overridden by subclass are always
+	 * subscribed.
+	 */
+	@Override
+	public boolean isSubscribed(Class<? extends SebEvent> event) {
+		if (!super.isSubscribed(event))
+			return false;
+		String method = HANDLER_METHODS.get(event);
+		if (method == null || isOverridden(LoggingListener.class, method, event)
+				|| isOverridden(LoggingListener.class, HANDLE_METHOD, SebEvent.class))
+			return true;
+		return seb == null || seb.isLoggable(getLogLevel(event));
+	}
+
+	/**
+	 * Returns level used for logging events of given class.
+	 * 
+	 * @param event
+	 *            The event class
+	 * @return The log level
+	 */
+	protected Level getLogLevel(Class<? extends SebEvent> event) {
+		return OnExceptionEvent.class.equals(event) ? Level.SEVERE : Level.INFO;
+	}
 	
 	@Override
 	public void onSebStart(OnSebStartEvent event) {
-		seb.log(Level.INFO, "Seb started " + event.getSeb().getLabel());
+		seb.log(Level.INFO, () -> "Seb started " + event.getSeb().getLabel());
 	}
 
 	@Override
 	public void beforeDriverConstruct(BeforeDriverConstructEvent event) {
-		seb.log(Level.INFO, "Creating driver " + event.getCapabilities());
+		seb.log(Level.INFO, () -> "Creating driver " + event.getCapabilities());
 	}
 	
 	@Override
 	public void afterDriverConstruct(AfterDriverConstructEvent event) {
+		if (!seb.isLoggable(Level.INFO))
+			return;
 		WebDriver driver = event.getSeb().getWrappedDriver();
 		String driverStr = driver.toString();
 		if (driver instanceof RemoteWebDriver) {
@@ -48,7 +78,7 @@ public class LoggingListener extends SebListener {
 
 	@Override
 	public void beforeScript(BeforeScriptEvent event) {
-		seb.log(Level.INFO, "Run JavaScript " + event.getScript());
+		seb.log(Level.INFO, () -> "Run JavaScript " + event.getScript());
 	}
 
 	@Override
@@ -63,25 +93,25 @@ public class LoggingListener extends SebListener {
 
 	@Override
 	public void beforeNavigateTo(BeforeNavigateToEvent event) {
-		seb.log(Level.INFO, "Open URL " + event.getUrl());
+		seb.log(Level.INFO, () -> "Open URL " + event.getUrl());
 	}
 	
 	@Override
 	public void beforeFindBy(BeforeFindByEvent event) {
 		if (event.getElement() == null)
-			seb.log(Level.INFO, "Find element " + event.getBy());
+			seb.log(Level.INFO, () -> "Find element " + event.getBy());
 		else
-			seb.log(Level.INFO, "Find element (from element) " + event.getBy());
+			seb.log(Level.INFO, () -> "Find element (from element) " + event.getBy());
 	}
 
 	@Override
 	public void beforePageInit(BeforePageInitEvent event) {
-		seb.log(Level.INFO, "Init page " + event.getPage());
+		seb.log(Level.INFO, () -> "Init page " + event.getPage());
 	}
 
 	@Override
 	public void beforeModuleInit(BeforeModuleInitEvent event) {
-		seb.log(Level.INFO, "Init module " + event.getModule());
+		seb.log(Level.INFO, () -> "Init module " + event.getModule());
 	}
 
 	@Override
@@ -0,0 +1,323 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.listener.impl;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import cz.etnetera.seb.SebBlobStore;
+import cz.etnetera.seb.SebException;
+
+/**
+ * Diff of page source against previous one used by
+ * {@link PageSourceMode#DELTA}. Sources are compared by tokens ending with
+ * <code>&gt;</code> or new line, so small changes in minified pages stay
+ * small. Delta file contains header with relative path of base file
+ * followed by copy, delete and insert operations measured in characters:
+ * 
+ * <pre>
+ * seb-delta 1
+ * base Page-1.html
+ * C 1024
+ * D 12
+ * I 5
+ * hello
+ * </pre>
+ * 
+ * Use {@link #reconstruct(Path)} or run this class with delta file
+ * argument to get full page source.
+ */
+public class PageSourceDelta {
+
+	public static final String EXTENSION = "html.delta";
+
+	public static final Charset CHARSET = StandardCharsets.UTF_8;
+
+	protected static final String HEADER = "seb-delta 1";
+
+	protected static final String BASE_PREFIX = "base ";
+
+	protected static final char COPY = 'C';
+
+	protected static final char DELETE = 'D';
+
+	protected static final char INSERT = 'I';
+
+	/**
+	 * Computes delta body transforming base into target.
+	 * 
+	 * @param base
+	 *            The base source
+	 * @param target
+	 *            The target source
+	 * @param maxEdits
+	 *            Maximum count of inserted and deleted tokens
+	 * @return The delta operations or null if sources differ too much
+	 */
+	public static String diff(String base, String target, int maxEdits) {
+		int[] a = tokenize(base);
+		int[] b = tokenize(target);
+		int n = a.length - 1;
+		int m = b.length - 1;
+		int prefix = 0;
+		while (prefix < n && prefix < m && equal(base, a, prefix, target, b, prefix))
+			prefix++;
+		int suffix = 0;
+		while (suffix < n - prefix && suffix < m - prefix
+				&& equal(base, a, n - 1 - suffix, target, b, m - 1 - suffix))
+			suffix++;
+		List<int[]> ops = new ArrayList<>();
+		addOp(ops, COPY, prefix);
+		if (!diff(base, a, prefix, n - suffix, target, b, prefix, m - suffix, maxEdits, ops))
+			return null;
+		addOp(ops, COPY, suffix);
+
+		StringBuilder sb = new StringBuilder();
+		int ai = 0;
+		int bi = 0;
+		for (int[] op : ops) {
+			char type = (char) op[0];
+			int count = op[1];
+			if (type == INSERT) {
+				sb.append(INSERT).append(' ').append(b[bi + count] - b[bi]).append('\n')
+						.append(target, b[bi], b[bi + count]).append('\n');
+				bi += count;
+			} else {
+				sb.append(type).append(' ').append(a[ai + count] - a[ai]).append('\n');
+				ai += count;
+				if (type == COPY)
+					bi += count;
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Applies delta operations on base.
+	 * 
+	 * @param base
+	 *            The base source
+	 * @param delta
+	 *            The delta operations
+	 * @return The target source
+	 */
+	public static String apply(String base, String delta) {
+		StringBuilder sb = new StringBuilder(base.length());
+		int basePos = 0;
+		int pos = 0;
+		while (pos < delta.length()) {
+			int lineEnd = delta.indexOf('\n', pos);
+			if (lineEnd < 0)
+				throw new SebException("Invalid page source delta operation at " + pos);
+			char type = delta.charAt(pos);
+			int count = Integer.parseInt(delta.substring(pos + 2, lineEnd));
+			pos = lineEnd + 1;
+			switch (type) {
+			case COPY:
+				sb.append(base, basePos, basePos + count);
+				basePos += count;
+				break;
+			case DELETE:
+				basePos += count;
+				break;
+			case INSERT:
+				sb.append(delta, pos, pos + count);
+				pos += count + 1;
+				break;
+			default:
+				throw new SebException("Unknown page source delta operation " + type);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Creates delta file content.
+	 * 
+	 * @param baseRef
+	 *            The base file path relative to delta file directory
+	 * @param delta
+	 *            The delta operations
+	 * @return The delta file content
+	 */
+	public static String toFileContent(String baseRef, String delta) {
+		return HEADER + "\n" + BASE_PREFIX + baseRef + "\n" + delta;
+	}
+
+	/**
+	 * Reads full page source from keyframe or delta file. Deltas are applied
+	 * on their bases recursively. Files stored in {@link SebBlobStore} are
+	 * found using its index.
+	 * 
+	 * @param file
+	 *            The page source file
+	 * @return The full page source
+	 * @throws IOException
+	 *             If some file can not be read
+	 */
+	public static String reconstruct(Path file) throws IOException {
+		List<String> deltas = new ArrayList<>();
+		Path current = file;
+		while (true) {
+			String content = new String(Files.readAllBytes(resolve(current)), CHARSET);
+			if (!content.startsWith(HEADER + "\n")) {
+				Collections.reverse(deltas);
+				for (String delta : deltas)
+					content = apply(content, delta);
+				return content;
+			}
+			int baseStart = HEADER.length() + 1 + BASE_PREFIX.length();
+			int baseEnd = content.indexOf('\n', baseStart);
+			current = current.getParent().resolve(content.substring(baseStart, baseEnd));
+			deltas.add(content.substring(baseEnd + 1));
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("Usage: PageSourceDelta <page source file> [output file]");
+			System.exit(1);
+		}
+		String source = reconstruct(Paths.get(args[0]));
+		if (args.length > 1)
+			Files.write(Paths.get(args[1]), source.getBytes(CHARSET));
+		else
+			System.out.print(source);
+	}
+
+	protected static Path resolve(Path file) throws IOException {
+		if (Files.exists(file))
+			return file;
+		Path absolute = file.toAbsolutePath().normalize();
+		for (Path root = absolute.getParent(); root != null; root = root.getParent()) {
+			Path index = root.resolve(SebBlobStore.BLOBS_DIR).resolve(SebBlobStore.INDEX_FILE);
+			if (!Files.exists(index))
+				continue;
+			String name = root.relativize(absolute).toString() + "\t";
+			for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+				if (line.startsWith(name))
+					return index.getParent().resolve(line.substring(name.length()));
+			}
+		}
+		return file;
+	}
+
+	protected static int[] tokenize(String source) {
+		int count = 0;
+		for (int i = 0; i < source.length(); i++) {
+			char c = source.charAt(i);
+			if (c == '>' || c == '\n')
+				count++;
+		}
+		boolean tail = source.isEmpty() || source.charAt(source.length() - 1) != '>'
+				&& source.charAt(source.length() - 1) != '\n';
+		int[] bounds = new int[count + (tail && !source.isEmpty() ? 2 : 1)];
+		int t = 1;
+		for (int i = 0; i < source.length(); i++) {
+			char c = source.charAt(i);
+			if (c == '>' || c == '\n')
+				bounds[t++] = i + 1;
+		}
+		if (t < bounds.length)
+			bounds[t] = source.length();
+		return bounds;
+	}
+
+	protected static boolean equal(String a, int[] as, int i, String b, int[] bs, int j) {
+		int length = as[i + 1] - as[i];
+		return length == bs[j + 1] - bs[j] && a.regionMatches(as[i], b, bs[j], length);
+	}
+
+	/**
+	 * Myers diff of token ranges, operations are appended to given list.
+	 */
+	protected static boolean diff(String base, int[] a, int aStart, int aEnd, String target, int[] b, int bStart,
+			int bEnd, int maxEdits, List<int[]> ops) {
+		int n = aEnd - aStart;
+		int m = bEnd - bStart;
+		if (n == 0 || m == 0) {
+			if (n + m > maxEdits)
+				return false;
+			addOp(ops, DELETE, n);
+			addOp(ops, INSERT, m);
+			return true;
+		}
+		int max = Math.min(maxEdits, n + m);
+		int offset = max + 1;
+		int[] v = new int[2 * max + 3];
+		List<int[]> trace = new ArrayList<>();
+		int found = -1;
+		for (int d = 0; d <= max && found < 0; d++) {
+			trace.add(v.clone());
+			for (int k = -d; k <= d; k += 2) {
+				int x = k == -d || k != d && v[offset + k - 1] < v[offset + k + 1] ? v[offset + k + 1]
+						: v[offset + k - 1] + 1;
+				int y = x - k;
+				while (x < n && y < m && equal(base, a, aStart + x, target, b, bStart + y)) {
+					x++;
+					y++;
+				}
+				v[offset + k] = x;
+				if (x >= n && y >= m) {
+					found = d;
+					break;
+				}
+			}
+		}
+		if (found < 0)
+			return false;
+		List<int[]> reversed = new ArrayList<>();
+		int x = n;
+		int y = m;
+		for (int d = found; d > 0; d--) {
+			int[] pv = trace.get(d);
+			int k = x - y;
+			int prevK = k == -d || k != d && pv[offset + k - 1] < pv[offset + k + 1] ? k + 1 : k - 1;
+			int prevX = pv[offset + prevK];
+			int prevY = prevX - prevK;
+			while (x > prevX && y > prevY) {
+				reversed.add(new int[] { COPY, 1 });
+				x--;
+				y--;
+			}
+			reversed.add(new int[] { prevK == k + 1 ? INSERT : DELETE, 1 });
+			x = prevX;
+			y = prevY;
+		}
+		for (; x > 0; x--)
+			reversed.add(new int[] { COPY, 1 });
+		for (int i = reversed.size() - 1; i >= 0; i--)
+			addOp(ops, (char) reversed.get(i)[0], reversed.get(i)[1]);
+		return true;
+	}
+
+	protected static void addOp(List<int[]> ops, char type, int count) {
+		if (count == 0)
+			return;
+		int[] last = ops.isEmpty() ? null : ops.get(ops.size() - 1);
+		if (last != null && last[0] == type)
+			last[1] += count;
+		else
+			ops.add(new int[] { type, count });
+	}
+
+}
@@ -14,7 +14,22 @@
  */
 package cz.etnetera.seb.listener.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
 import cz.etnetera.seb.Seb;
+import cz.etnetera.seb.SebException;
 import cz.etnetera.seb.event.SebEvent;
 import cz.etnetera.seb.event.impl.AfterPageInitEvent;
 import cz.etnetera.seb.event.impl.BeforeDriverQuitEvent;
@@ -22,7 +37,35 @@ import cz.etnetera.seb.event.impl.BeforePageInitEvent;
 import cz.etnetera.seb.event.impl.OnReportEvent;
 import cz.etnetera.seb.listener.SebListener;
 
+/**
+ * Stores page sources. Depending on {@link Seb#getPageSourceMode()} page
+ * sources are stored as plain HTML, compressed by gzip while written or
+ * as differences against previous page source. Compressed and delta files
+ * are listed in HTML index file.
+ */
 public class PageSourceListener extends SebListener {
+
+	protected static final String HTML_EXTENSION = "html";
+
+	protected static final String GZIP_EXTENSION = "html.gz";
+
+	protected static final String INDEX_NAME = "index";
+
+	protected static final int GZIP_BUFFER_SIZE = 8192;
+
+	/**
+	 * Maximum count of changed tokens stored as delta, full page source is
+	 * stored for bigger changes.
+	 */
+	protected static final int DELTA_MAX_EDITS = 1000;
+
+	protected Path indexFile;
+
+	protected String previousPageSource;
+
+	protected Path previousPageSourceFile;
+
+	protected int capturesSinceKeyframe;
 	
 	@SuppressWarnings("unchecked")
 	@Override
@@ -53,8 +96,113 @@ public class PageSourceListener extends SebListener {
 	}
 
 	protected void savePageSource(SebEvent event) {
-		if (event.getSeb().isReported())
-			saveFile(event, event.getDriver().getPageSource(), null, "html");
+		if (!event.getSeb().isReported())
+			return;
+		String pageSource = event.getDriver().getPageSource();
+		PageSourceMode mode = event.getSeb().getPageSourceMode();
+		if (event.getSeb().getArtifactRing() != null)
+			retainPageSource(event, pageSource, mode);
+		else if (mode == PageSourceMode.GZIP)
+			saveCompressedPageSource(event, pageSource);
+		else if (mode == PageSourceMode.DELTA)
+			saveDeltaPageSource(event, pageSource);
+		else
+			saveFile(event, pageSource, null, HTML_EXTENSION);
+	}
+
+	protected void saveCompressedPageSource(SebEvent event, String pageSource) {
+		Path path = saveFile(event, out -> writeCompressed(out, pageSource), null, GZIP_EXTENSION);
+		if (path != null)
+			addToIndex(path);
+	}
+
+	/**
+	 * Keeps gzip compressed page source in artifact ring. Delta mode is not
+	 * used as base page sources can be dropped from ring.
+	 */
+	protected void retainPageSource(SebEvent event, String pageSource, PageSourceMode mode) {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try {
+			writeCompressed(compressed, pageSource);
+		} catch (IOException e) {
+			throw new SebException("Unable to compress page source", e);
+		}
+		byte[] bytes = compressed.toByteArray();
+		if (mode == PageSourceMode.GZIP)
+			retainFile(event, out -> out.write(bytes), null, GZIP_EXTENSION);
+		else
+			retainFile(event, out -> writeDecompressed(out, bytes), null, HTML_EXTENSION);
+	}
+
+	protected void writeDecompressed(OutputStream out, byte[] compressed) throws IOException {
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed), GZIP_BUFFER_SIZE)) {
+			byte[] buffer = new byte[GZIP_BUFFER_SIZE];
+			for (int read; (read = in.read(buffer)) >= 0;)
+				out.write(buffer, 0, read);
+		}
+	}
+
+	protected synchronized void saveDeltaPageSource(SebEvent event, String pageSource) {
+		String delta = null;
+		if (previousPageSource != null && capturesSinceKeyframe < seb.getPageSourceKeyframeInterval() - 1) {
+			delta = PageSourceDelta.diff(previousPageSource, pageSource, DELTA_MAX_EDITS);
+			if (delta != null && delta.length() > pageSource.length() / 2)
+				delta = null;
+		}
+		Path path;
+		if (delta == null) {
+			path = saveFile(event, out -> write(out, pageSource), null, HTML_EXTENSION);
+			capturesSinceKeyframe = 0;
+		} else {
+			String content = PageSourceDelta.toFileContent(getDeltaBaseRef(), delta);
+			path = saveFile(event, out -> write(out, content), null, PageSourceDelta.EXTENSION);
+			capturesSinceKeyframe++;
+		}
+		if (path != null) {
+			previousPageSource = pageSource;
+			previousPageSourceFile = path;
+			addToIndex(path);
+		}
+	}
+
+	protected String getDeltaBaseRef() {
+		return previousPageSourceFile.getFileName().toString();
+	}
+
+	protected void write(OutputStream out, String content) throws IOException {
+		Writer writer = new OutputStreamWriter(out, PageSourceDelta.CHARSET);
+		writer.write(content);
+		writer.flush();
+	}
+
+	protected void writeCompressed(OutputStream out, String pageSource) throws IOException {
+		try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(out, GZIP_BUFFER_SIZE),
+				StandardCharsets.UTF_8)) {
+			writer.write(pageSource);
+		}
+	}
+
+	protected synchronized void addToIndex(Path path) {
+		try {
+			if (indexFile == null) {
+				indexFile = seb.createFile(getListenerFileName(INDEX_NAME), HTML_EXTENSION);
+				appendToIndex("<!DOCTYPE html>\n<meta charset=\"utf-8\">\n<title>" + escapeHtml(seb.getLabel())
+						+ " page sources</title>\n<ul>\n");
+			}
+			String href = indexFile.getParent().relativize(path).toString().replace('\\', '/');
+			appendToIndex("<li><a href=\"" + escapeHtml(href) + "\">" + escapeHtml(href) + "</a></li>\n");
+		} catch (IOException e) {
+			throw new SebException("Unable to update page source index " + indexFile, e);
+		}
+	}
+
+	protected void appendToIndex(String html) throws IOException {
+		Files.write(indexFile, html.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+	}
+
+	protected String escapeHtml(String text) {
+		return String.valueOf(text).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"",
+				"&quot;");
 	}
 
 }
@@ -0,0 +1,50 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.listener.impl;
+
+/**
+ * How {@link PageSourceListener} stores page sources.
+ */
+public enum PageSourceMode {
+
+	/**
+	 * Plain HTML file.
+	 */
+	HTML,
+
+	/**
+	 * HTML file compressed using gzip while written.
+	 */
+	GZIP,
+
+	/**
+	 * Difference against previous page source, full HTML file is stored
+	 * every {@link cz.etnetera.seb.Seb#getPageSourceKeyframeInterval()}
+	 * captures. See {@link PageSourceDelta}.
+	 */
+	DELTA;
+
+	/**
+	 * Parses mode ignoring case.
+	 * 
+	 * @param mode
+	 *            The mode name
+	 * @return The mode
+	 */
+	public static PageSourceMode parse(String mode) {
+		return valueOf(mode.trim().toUpperCase());
+	}
+
+}
@@ -0,0 +1,58 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.listener.impl;
+
+/**
+ * Format of screenshots stored by {@link ScreenshotListener}.
+ */
+public enum ScreenshotFormat {
+
+	/**
+	 * PNG as returned by driver, it is not encoded again unless scaled.
+	 */
+	PNG("png"),
+
+	/**
+	 * JPEG with configured quality.
+	 */
+	JPEG("jpg"),
+
+	/**
+	 * PNG with 256 colors palette.
+	 */
+	PNG8("png");
+
+	protected final String extension;
+
+	private ScreenshotFormat(String extension) {
+		this.extension = extension;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	/**
+	 * Parses format ignoring case.
+	 * 
+	 * @param format
+	 *            The format name
+	 * @return The format
+	 */
+	public static ScreenshotFormat parse(String format) {
+		return valueOf(format.trim().toUpperCase());
+	}
+
+}
@@ -14,6 +14,22 @@
  */
 package cz.etnetera.seb.listener.impl;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 
@@ -25,8 +41,20 @@ import cz.etnetera.seb.event.impl.BeforePageInitEvent;
 import cz.etnetera.seb.event.impl.OnReportEvent;
 import cz.etnetera.seb.listener.SebListener;
 
+/**
+ * Stores screenshots. Screenshot is taken on test thread, it is encoded
+ * into {@link Seb#getScreenshotFormat()}, scaled and completed by thumbnail
+ * while written, which is on background thread when async report is
+ * enabled. Without async report encoding runs on test thread, so use
+ * {@link Seb#isAsyncReport()} together with other format than PNG. When
+ * artifacts retention is enabled, PNG from driver is kept in memory and
+ * encoded only if it is saved. Screenshot is decoded once for both image
+ * and thumbnail.
+ */
 public class ScreenshotListener extends SebListener {
 
+	protected static final String THUMBNAIL_NAME = "thumbnail";
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public void init(Seb seb) {
@@ -56,12 +84,114 @@ public class ScreenshotListener extends SebListener {
 	}
 
 	protected void takeScreenshot(SebEvent event) {
-		if (event.getSeb().isReported() && isScreenshotDriver(event))
-			saveFile(event, event.getDriver(TakesScreenshot.class).getScreenshotAs(OutputType.BYTES), null, "png");
+		if (!event.getSeb().isReported() || !isScreenshotDriver(event))
+			return;
+		byte[] png = event.getDriver(TakesScreenshot.class).getScreenshotAs(OutputType.BYTES);
+		ScreenshotFormat format = seb.getScreenshotFormat();
+		double scale = seb.getScreenshotScale();
+		boolean raw = format == ScreenshotFormat.PNG && scale == 1;
+		int thumbnail = seb.getScreenshotThumbnail();
+		DecodedScreenshot decoded = new DecodedScreenshot(png, (raw ? 0 : 1) + (thumbnail > 0 ? 1 : 0));
+		if (raw && seb.getArtifactRing() == null)
+			saveFile(event, png, null, format.getExtension());
+		else if (raw)
+			retainFile(event, out -> out.write(png), null, format.getExtension());
+		else
+			retainFile(event, out -> writeImage(out, decoded.use(), format, scale), null, format.getExtension());
+		if (thumbnail > 0)
+			retainFile(event, out -> writeThumbnail(out, decoded.use(), format, thumbnail), THUMBNAIL_NAME,
+					format.getExtension());
+	}
+
+	protected void writeThumbnail(OutputStream out, BufferedImage image, ScreenshotFormat format, int width)
+			throws IOException {
+		writeImage(out, image, format, Math.min(1, (double) width / image.getWidth()));
+	}
+
+	protected BufferedImage readImage(byte[] png) throws IOException {
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+		if (image == null)
+			throw new IOException("Unable to decode screenshot");
+		return image;
+	}
+
+	protected void writeImage(OutputStream out, BufferedImage image, ScreenshotFormat format, double scale)
+			throws IOException {
+		int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+		int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+		switch (format) {
+		case JPEG:
+			writeJpeg(out, convert(image, width, height, BufferedImage.TYPE_INT_RGB));
+			break;
+		case PNG8:
+			ImageIO.write(convert(image, width, height, BufferedImage.TYPE_BYTE_INDEXED), "png", out);
+			break;
+		default:
+			ImageIO.write(width == image.getWidth() && height == image.getHeight() ? image
+					: convert(image, width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+		}
+	}
+
+	protected void writeJpeg(OutputStream out, BufferedImage image) throws IOException {
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+		if (!writers.hasNext())
+			throw new IOException("No JPEG writer available");
+		ImageWriter writer = writers.next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+		param.setCompressionQuality((float) Math.max(0, Math.min(1, seb.getScreenshotQuality())));
+		try (ImageOutputStream imageOut = new MemoryCacheImageOutputStream(out)) {
+			writer.setOutput(imageOut);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+	}
+
+	protected BufferedImage convert(BufferedImage image, int width, int height, int type) {
+		BufferedImage converted = new BufferedImage(width, height, type);
+		Graphics2D g = converted.createGraphics();
+		try {
+			if (!converted.getColorModel().hasAlpha()) {
+				g.setColor(Color.WHITE);
+				g.fillRect(0, 0, width, height);
+			}
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.drawImage(image, 0, 0, width, height, null);
+		} finally {
+			g.dispose();
+		}
+		return converted;
 	}
 
 	protected boolean isScreenshotDriver(SebEvent event) {
 		return event.getDriver() instanceof TakesScreenshot;
 	}
 
+	/**
+	 * Screenshot decoded on first use and shared by its files. Decoded
+	 * image is released after last use.
+	 */
+	protected class DecodedScreenshot {
+
+		protected final byte[] png;
+
+		protected int uses;
+
+		protected BufferedImage image;
+
+		protected DecodedScreenshot(byte[] png, int uses) {
+			this.png = png;
+			this.uses = uses;
+		}
+
+		protected synchronized BufferedImage use() throws IOException {
+			BufferedImage used = image == null ? readImage(png) : image;
+			image = --uses > 0 ? used : null;
+			return used;
+		}
+
+	}
+
 }
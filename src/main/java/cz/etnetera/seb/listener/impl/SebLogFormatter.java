@@ -0,0 +1,121 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.listener.impl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Level;
+
+/**
+ * Thread safe formatter of log lines in format
+ * <code>yyyy-MM-dd HH:mm:ss,SSS LEVEL   message</code>. Date part without
+ * milliseconds is formatted once per second and shared by all threads.
+ */
+public class SebLogFormatter {
+
+	/**
+	 * Formatter shared by all listeners, it uses system default time zone.
+	 */
+	public static final SebLogFormatter SHARED = new SebLogFormatter(ZoneId.systemDefault());
+
+	protected static final DateTimeFormatter SECONDS_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss,");
+
+	protected static final int LEVEL_WIDTH = 7;
+
+	protected final ZoneId zone;
+
+	protected volatile SecondsPrefix lastPrefix = new SecondsPrefix(Long.MIN_VALUE, null);
+
+	public SebLogFormatter(ZoneId zone) {
+		this.zone = zone;
+	}
+
+	/**
+	 * Formats log line ended with new line.
+	 * 
+	 * @param time
+	 *            The local time
+	 * @param level
+	 *            The level
+	 * @param message
+	 *            The message
+	 * @return The log line
+	 */
+	public String format(LocalDateTime time, Level level, String message) {
+		String levelName = String.valueOf(level);
+		StringBuilder sb = new StringBuilder(
+				24 + Math.max(LEVEL_WIDTH, levelName.length()) + (message == null ? 4 : message.length()));
+		sb.append(getSecondsPrefix(time));
+		int millis = time.getNano() / 1_000_000;
+		if (millis < 100)
+			sb.append('0');
+		if (millis < 10)
+			sb.append('0');
+		sb.append(millis).append(' ').append(levelName);
+		for (int i = levelName.length(); i < LEVEL_WIDTH; i++)
+			sb.append(' ');
+		sb.append(' ').append(message);
+		int end = sb.length();
+		while (end > 0 && sb.charAt(end - 1) <= ' ')
+			end--;
+		sb.setLength(end);
+		return sb.append('\n').toString();
+	}
+
+	/**
+	 * Formats log line ended with new line.
+	 * 
+	 * @param epochMillis
+	 *            The time in milliseconds from epoch
+	 * @param level
+	 *            The level
+	 * @param message
+	 *            The message
+	 * @return The log line
+	 */
+	public String format(long epochMillis, Level level, String message) {
+		return format(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone), level, message);
+	}
+
+	protected String getSecondsPrefix(LocalDateTime time) {
+		long second = time.toEpochSecond(ZoneOffset.UTC);
+		SecondsPrefix prefix = lastPrefix;
+		if (prefix.second != second) {
+			prefix = new SecondsPrefix(second, SECONDS_FORMATTER.format(time));
+			lastPrefix = prefix;
+		}
+		return prefix.prefix;
+	}
+
+	/**
+	 * Formatted date part of one second.
+	 */
+	protected static class SecondsPrefix {
+
+		protected final long second;
+
+		protected final String prefix;
+
+		public SecondsPrefix(long second, String prefix) {
+			this.second = second;
+			this.prefix = prefix;
+		}
+
+	}
+
+}
@@ -1,31 +1,94 @@
 package cz.etnetera.seb.listener.impl;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.sql.Timestamp;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
-import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import cz.etnetera.seb.Seb;
+import cz.etnetera.seb.SebException;
 import cz.etnetera.seb.event.impl.AfterSebQuitEvent;
+import cz.etnetera.seb.event.impl.BeforeDriverQuitEvent;
 import cz.etnetera.seb.event.impl.LogEvent;
+import cz.etnetera.seb.event.impl.OnFileSaveEvent;
 import cz.etnetera.seb.listener.SebListener;
 
+/**
+ * Streams logs into report file as they come. Logs are buffered and
+ * flushed every {@link Seb#getLogFlushInterval()} seconds by background
+ * task, before driver quits and on JVM shutdown, next file is started when
+ * {@link Seb#getLogMaxFileSize()} is exceeded. Logs are printed to console
+ * too if {@link Seb#isLogConsole()} is true.
+ */
 public class SebLogListener extends SebListener {
-	
+
+	/**
+	 * @deprecated Not thread safe, use {@link #logFormatter} instead.
+	 */
+	@Deprecated
 	protected static final DateFormat LOG_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
-	
-	protected List<String> logs = new ArrayList<>();
-	
+
+	protected static final String LOG_FILE_NAME = "seb";
+
+	protected static final String LOG_FILE_EXTENSION = "log";
+
+	protected static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Flushes logs of all listeners in background.
+	 */
+	protected static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "seb-log-flush");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	protected static final String FORMAT_LOG_METHOD = "formatLog";
+
+	protected SebLogFormatter logFormatter = SebLogFormatter.SHARED;
+
+	/**
+	 * Is deprecated {@link #formatLog(Date, Level, String)} overridden, so it
+	 * has to be used.
+	 */
+	protected final boolean dateFormatLogOverridden = isOverridden(SebLogListener.class, FORMAT_LOG_METHOD,
+			Date.class, Level.class, String.class);
+
+	protected Charset charset = Charset.defaultCharset();
+
+	protected Path logFile;
+
+	protected OutputStream logStream;
+
+	protected long logFileSize;
+
+	protected long lastFlush;
+
+	protected boolean closed;
+
+	protected ScheduledFuture<?> flushTask;
+
+	protected Thread shutdownHook;
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public void init(Seb seb) {
 		super.init(seb);
-		enable(LogEvent.class, AfterSebQuitEvent.class);
+		enable(LogEvent.class, BeforeDriverQuitEvent.class, AfterSebQuitEvent.class);
 	}
 
 	@Override
@@ -33,29 +96,120 @@ public class SebLogListener extends SebListener {
 		if (event.getLevel().intValue() >= seb.getLogLevel().intValue())
 			storeLog(event);
 	}
-	
+
+	@Override
+	public void beforeDriverQuit(BeforeDriverQuitEvent event) {
+		flushLog();
+	}
+
 	@Override
 	public void afterSebQuit(AfterSebQuitEvent event) {
 		storeLogs();
 	}
-	
+
 	protected void storeLog(LogEvent event) {
-		String log = formatLog(new Date(Timestamp.valueOf(event.getTime()).getTime()), event.getLevel(), buildEventMessage(event));
-		System.out.print(log);
-		logs.add(log);
+		String log = formatLog(event.getTime(), event.getLevel(), buildEventMessage(event));
+		if (seb.isLogConsole())
+			System.out.print(log);
+		writeLog(log);
 	}
-	
-	protected void storeLogs() {
-		StringBuilder sb = new StringBuilder();
-		logs.forEach(log -> sb.append(log));
-		String logStr = sb.toString();
-		if (!logStr.isEmpty())
-			seb.saveFile(logStr, "seb", "log");
+
+	/**
+	 * Flushes and closes current log file.
+	 */
+	protected synchronized void storeLogs() {
+		closed = true;
+		stopFlushing();
+		closeLogFile();
+	}
+
+	/**
+	 * Flushes buffered logs into current log file. Failure is ignored, it is
+	 * reported by next write.
+	 */
+	protected synchronized void flushLog() {
+		if (logStream == null)
+			return;
+		try {
+			logStream.flush();
+			lastFlush = System.currentTimeMillis();
+		} catch (IOException e) {
+			// reported on next write
+		}
+	}
+
+	protected void startFlushing() {
+		long interval = (long) (seb.getLogFlushInterval() * 1000);
+		if (interval > 0)
+			flushTask = FLUSHER.scheduleWithFixedDelay(this::flushLog, interval, interval, TimeUnit.MILLISECONDS);
+		shutdownHook = new Thread(this::flushLog, "seb-log-shutdown");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	protected void stopFlushing() {
+		if (flushTask != null) {
+			flushTask.cancel(false);
+			flushTask = null;
+		}
+		if (shutdownHook != null) {
+			try {
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			} catch (IllegalStateException e) {
+				// JVM is shutting down, hook is running
+			}
+			shutdownHook = null;
+		}
+	}
+
+	protected synchronized void writeLog(String log) {
+		if (!seb.isReported() || closed)
+			return;
+		byte[] bytes = log.getBytes(charset);
+		long maxFileSize = seb.getLogMaxFileSize();
+		if (logStream != null && maxFileSize > 0 && logFileSize > 0 && logFileSize + bytes.length > maxFileSize)
+			closeLogFile();
+		try {
+			if (logStream == null)
+				openLogFile();
+			logStream.write(bytes);
+			logFileSize += bytes.length;
+			long now = System.currentTimeMillis();
+			if (now - lastFlush >= seb.getLogFlushInterval() * 1000) {
+				logStream.flush();
+				lastFlush = now;
+			}
+		} catch (IOException e) {
+			throw new SebException("Unable to write log into " + logFile, e);
+		}
+	}
+
+	protected void openLogFile() throws IOException {
+		if (shutdownHook == null)
+			startFlushing();
+		logFile = seb.createFile(LOG_FILE_NAME, LOG_FILE_EXTENSION);
+		logStream = new BufferedOutputStream(Files.newOutputStream(logFile), BUFFER_SIZE);
+		logFileSize = 0;
+		lastFlush = System.currentTimeMillis();
+	}
+
+	protected void closeLogFile() {
+		if (logStream == null)
+			return;
+		Path closedFile = logFile;
+		try {
+			logStream.close();
+		} catch (IOException e) {
+			throw new SebException("Unable to close log " + closedFile, e);
+		} finally {
+			logStream = null;
+			logFile = null;
+		}
+		seb.triggerEvent(seb.constructEvent(OnFileSaveEvent.class, seb).with(closedFile.toFile()));
 	}
 
 	protected String buildEventMessage(LogEvent event) {
 		StringBuilder sb = new StringBuilder();
-		sb.append(String.format("%s: %s", event.getName(), event.getMessage()).trim());
+		sb.append((event.getName() + ": " + event.getMessage()).trim());
 
 		if (event.getThrowable() != null) {
 			sb.append("\n");
@@ -67,9 +221,22 @@ public class SebLogListener extends SebListener {
 
 		return sb.toString();
 	}
-	
+
+	protected String formatLog(LocalDateTime time, Level level, String message) {
+		if (dateFormatLogOverridden)
+			return formatLog(Date.from(time.atZone(ZoneId.systemDefault()).toInstant()), level, message);
+		return logFormatter.format(time, level, message);
+	}
+
+	/**
+	 * Formats log entry. It is still called if it is overridden.
+	 * 
+	 * @deprecated Override {@link #formatLog(LocalDateTime, Level, String)}
+	 *             instead.
+	 */
+	@Deprecated
 	protected String formatLog(Date time, Level level, String message) {
-		return (LOG_DATE_FORMAT.format(time) + " " + String.format("%1$-7s", level) + " " + message).trim() + "\n";
+		return logFormatter.format(time.getTime(), level, message);
 	}
 
 }
@@ -21,8 +21,21 @@ import cz.etnetera.seb.listener.SebListener;
 
 public class WebDriverLogListener extends SebListener {
 	
+	/**
+	 * @deprecated Not thread safe, use {@link #logFormatter} instead.
+	 */
+	@Deprecated
 	protected static final DateFormat LOG_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
 	
+	protected SebLogFormatter logFormatter = SebLogFormatter.SHARED;
+	
+	/**
+	 * Is deprecated {@link #formatLog(Date, Level, String)} overridden, so it
+	 * has to be used.
+	 */
+	protected final boolean dateFormatLogOverridden = isOverridden(WebDriverLogListener.class, "formatLog",
+			Date.class, Level.class, String.class);
+	
 	protected Function<WebDriverLogListener, LoggingPreferences> loggingPreferencesFunction;
 	
 	public WebDriverLogListener(Function<WebDriverLogListener, LoggingPreferences> loggingPreferencesFunction) {
@@ -70,18 +83,30 @@ public class WebDriverLogListener extends SebListener {
 		try {
 			LogEntries logEntries = logs.get(type);
 	        for (LogEntry entry : logEntries) {
-	            sb.append(formatLog(new Date(entry.getTimestamp()), entry.getLevel(), entry.getMessage()));
+	            sb.append(formatLog(entry.getTimestamp(), entry.getLevel(), entry.getMessage()));
 	        }
 		} catch (WebDriverException e) {
-			sb.append(formatLog(new Date(), Level.SEVERE, "Unable to get webdriver logs for type " + type + ".\n" + e));
+			sb.append(formatLog(System.currentTimeMillis(), Level.SEVERE, "Unable to get webdriver logs for type " + type + ".\n" + e));
 		}
 		String logStr = sb.toString();
 		if (!logStr.isEmpty())
 			seb.saveFile(logStr, "webdriver-" + type, "log");
 	}
 	
+	protected String formatLog(long epochMillis, Level level, String message) {
+		if (dateFormatLogOverridden)
+			return formatLog(new Date(epochMillis), level, message);
+		return logFormatter.format(epochMillis, level, message);
+	}
+
+	/**
+	 * Formats log entry. It is still called if it is overridden.
+	 * 
+	 * @deprecated Override {@link #formatLog(long, Level, String)} instead.
+	 */
+	@Deprecated
 	protected String formatLog(Date time, Level level, String message) {
-		return (LOG_DATE_FORMAT.format(time) + " " + String.format("%1$-7s", level) + " " + message).trim() + "\n";
+		return logFormatter.format(time.getTime(), level, message);
 	}
 
 }
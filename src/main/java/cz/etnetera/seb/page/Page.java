@@ -15,10 +15,14 @@
 package cz.etnetera.seb.page;
 
 import java.util.List;
+import java.util.logging.Level;
 import java.util.regex.Pattern;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
 
 import cz.etnetera.seb.Seb;
 import cz.etnetera.seb.SebContext;
@@ -51,9 +55,21 @@ abstract public class Page implements SebContext {
 	protected Double waitRetryInterval;
 	
 	protected Double waitBeforePageInitTimeout;
+	
+	protected PageReadiness readiness;
+	
+	protected Double readinessQuietPeriod;
+	
+	protected String signatureUrlRegex;
+	
+	protected By signatureMarker;
+	
+	protected PageSignature signature;
 
 	protected Seb seb;
 	
+	protected PageUrlPatternCache urlPatternCache = PageUrlPatternCache.SHARED;
+	
 	public Page with(Seb seb) {
 		this.seb = seb;
 		configureFromAnnotation();
@@ -105,16 +121,56 @@ abstract public class Page implements SebContext {
 	}
 
 	public Page goTo() {
+		return goTo(true);
+	}
+
+	/**
+	 * Goes to page url and initializes the page.
+	 * 
+	 * @param persistArtifacts
+	 *            Persist retained artifacts if verification fails, see
+	 *            {@link #init(boolean)}
+	 * @return This page
+	 */
+	public Page goTo(boolean persistArtifacts) {
 		String url = getUrl();
 		if (url == null)
 			throw new PageException("It is not possible to go to page without url " + this);
 		goToUrl(url);
-		return init();
+		return init(persistArtifacts);
 	}
 
 	public Page init() {
-		if (waitBeforePageInitTimeout != null)
-			waiting(waitBeforePageInitTimeout).sleep();
+		return init(true);
+	}
+
+	/**
+	 * Initializes and verifies the page. Retained artifacts are persisted
+	 * on verification failure only if requested, safe initialization paths
+	 * expect failures and do not persist them.
+	 * 
+	 * @param persistArtifacts
+	 *            Persist retained artifacts if verification fails
+	 * @return This page
+	 */
+	public Page init(boolean persistArtifacts) {
+		return init(persistArtifacts, true);
+	}
+
+	/**
+	 * Initializes and verifies the page same as {@link #init(boolean)}.
+	 * Waiting before initialization can be skipped if it was already done
+	 * using {@link #waitBeforePageInit()}.
+	 * 
+	 * @param persistArtifacts
+	 *            Persist retained artifacts if verification fails
+	 * @param waitBeforeInit
+	 *            Wait before initialization
+	 * @return This page
+	 */
+	public Page init(boolean persistArtifacts, boolean waitBeforeInit) {
+		if (waitBeforeInit)
+			waitBeforePageInit();
 		try {
 			triggerEvent(constructEvent(BeforePageInitEvent.class).with(this));
 			beforeInit();
@@ -125,7 +181,13 @@ abstract public class Page implements SebContext {
 			setup();
 			afterSetup();
 			beforeVerify();
-			verify();
+			try {
+				verify();
+			} catch (VerificationException e) {
+				if (persistArtifacts)
+					getSeb().persistArtifacts();
+				throw e;
+			}
 			afterVerify();
 			setPage(this);
 			afterInit();
@@ -173,6 +235,53 @@ abstract public class Page implements SebContext {
 		this.waitBeforePageInitTimeout = waitBeforePageInitTimeout;
 	}
 
+	public PageReadiness getReadiness() {
+		return readiness == null ? PageReadiness.SLEEP : readiness;
+	}
+
+	public void setReadiness(PageReadiness readiness) {
+		this.readiness = readiness;
+	}
+
+	public double getReadinessQuietPeriod() {
+		return readinessQuietPeriod == null ? 0 : readinessQuietPeriod;
+	}
+
+	public void setReadinessQuietPeriod(double readinessQuietPeriod) {
+		this.readinessQuietPeriod = readinessQuietPeriod;
+	}
+
+	public String getSignatureUrlRegex() {
+		return signatureUrlRegex;
+	}
+
+	public void setSignatureUrlRegex(String signatureUrlRegex) {
+		this.signatureUrlRegex = signatureUrlRegex;
+		this.signature = null;
+	}
+
+	public By getSignatureMarker() {
+		return signatureMarker;
+	}
+
+	public void setSignatureMarker(By signatureMarker) {
+		this.signatureMarker = signatureMarker;
+		this.signature = null;
+	}
+
+	/**
+	 * Returns signature used to pick candidate pages in
+	 * {@link SebContext#initOnePage(Object...)}.
+	 * 
+	 * @return The signature or null if page has none
+	 */
+	public PageSignature getSignature() {
+		if (signature == null && (signatureUrlRegex != null || signatureMarker != null))
+			signature = new PageSignature(signatureUrlRegex == null ? null : getUrlPattern(signatureUrlRegex),
+					signatureMarker);
+		return signature;
+	}
+
 	@Override
 	public List<WebElement> findElements(By by) {
 		return seb.findElements(by);
@@ -192,19 +301,66 @@ abstract public class Page implements SebContext {
 		}
 	}
 
+	/**
+	 * Waits before page initialization same as {@link #init()} does. It does
+	 * nothing if wait before page initialization timeout is not set.
+	 */
+	public void waitBeforePageInit() {
+		if (waitBeforePageInitTimeout != null)
+			waitBeforeInit();
+	}
+
+	/**
+	 * Waits before page initialization. Sleeps for wait before page
+	 * initialization timeout or waits until page is ready in
+	 * {@link PageReadiness#PROBE} mode. Remaining time is slept when page
+	 * readiness can not be probed.
+	 */
+	protected void waitBeforeInit() {
+		double timeout = getWaitBeforePageInitTimeout();
+		if (getReadiness() != PageReadiness.PROBE) {
+			waiting(timeout).sleep();
+			return;
+		}
+		if (timeout <= 0)
+			return;
+		long start = System.currentTimeMillis();
+		try {
+			if (!PageReadinessProbe.await(this, timeout, getReadinessQuietPeriod()))
+				log(Level.FINE, () -> "Page " + getClass().getName() + " is not ready after " + timeout + "s");
+		} catch (WebDriverException e) {
+			double remaining = timeout - (System.currentTimeMillis() - start) / 1000d;
+			if (remaining > 0)
+				waiting(remaining).sleep();
+		}
+	}
+
 	protected void verifyUrl() {
 		if (!isUrlVerification())
 			return;
 		String urlRegex = getUrlRegex();
 		if (urlRegex == null)
 			return;
-		String currentUrl = getDriver().getCurrentUrl(); 
-		if (currentUrl != null && !currentUrl.matches(urlRegex)) {
+		String currentUrl = getSeb().getNavigatedUrl();
+		if (currentUrl == null)
+			currentUrl = getDriver().getCurrentUrl();
+		if (currentUrl != null && !getUrlPattern(urlRegex).matcher(currentUrl).matches()) {
 			throw new VerificationException("Unable to verify page url for " + getClass().getName()
 					+ " using url regex " + urlRegex + " against current url " + currentUrl);
 		}
 	}
 	
+	/**
+	 * Returns compiled pattern of given url regex.
+	 * 
+	 * @param regex
+	 *            The url regex
+	 * @return The compiled pattern
+	 */
+	protected Pattern getUrlPattern(String regex) {
+		return urlPatternCache.getPattern(getClass(), regex);
+	}
+	
 	protected void configureFromAnnotation() {
 		PageConfig config = getClass().getDeclaredAnnotation(PageConfig.class);
 		if (config != null)
@@ -232,6 +388,28 @@ abstract public class Page implements SebContext {
 			waitRetryInterval = config.waitRetryInterval()[0];
 		if (config.waitBeforePageInitTimeout().length > 0)
 			waitBeforePageInitTimeout = config.waitBeforePageInitTimeout()[0];
+		if (config.readiness().length > 0)
+			readiness = config.readiness()[0];
+		if (config.readinessQuietPeriod().length > 0)
+			readinessQuietPeriod = config.readinessQuietPeriod()[0];
+		if (config.signatureUrlRegex().length > 0)
+			signatureUrlRegex = config.signatureUrlRegex()[0];
+		if (config.signatureMarker().length > 0)
+			signatureMarker = buildBy(config.signatureMarker()[0]);
+	}
+	
+	protected By buildBy(FindBy findBy) {
+		return new AbstractAnnotations() {
+			@Override
+			public boolean isLookupCached() {
+				return false;
+			}
+
+			@Override
+			public By buildBy() {
+				return buildByFromFindBy(findBy);
+			}
+		}.buildBy();
 	}
 	
 	protected void configureFromSeb() {
@@ -252,6 +430,10 @@ abstract public class Page implements SebContext {
 			waitRetryInterval = seb.getWaitRetryInterval();
 		if (waitBeforePageInitTimeout == null)
 			waitBeforePageInitTimeout = seb.getWaitBeforePageInitTimeout();
+		if (readiness == null)
+			readiness = seb.getPageReadiness();
+		if (readinessQuietPeriod == null)
+			readinessQuietPeriod = seb.getPageReadinessQuietPeriod();
 	}
 	
 	/**
@@ -19,6 +19,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.openqa.selenium.support.FindBy;
+
 /**
  * Allows configure page object directly instead
  * of tweaking its properties and methods.
@@ -47,4 +49,12 @@ public @interface PageConfig {
 	
 	double[] waitBeforePageInitTimeout() default {};
 	
+	PageReadiness[] readiness() default {};
+	
+	double[] readinessQuietPeriod() default {};
+	
+	String[] signatureUrlRegex() default {};
+	
+	FindBy[] signatureMarker() default {};
+	
 }
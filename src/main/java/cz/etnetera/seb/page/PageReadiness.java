@@ -0,0 +1,44 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.page;
+
+/**
+ * How {@link Page#init()} waits before page initialization.
+ */
+public enum PageReadiness {
+
+	/**
+	 * Sleeps for whole wait before page initialization timeout.
+	 */
+	SLEEP,
+
+	/**
+	 * Waits until page is ready, wait before page initialization timeout is
+	 * used as upper bound only. See {@link PageReadinessProbe}.
+	 */
+	PROBE;
+
+	/**
+	 * Parses readiness ignoring case.
+	 * 
+	 * @param readiness
+	 *            The readiness name
+	 * @return The readiness
+	 */
+	public static PageReadiness parse(String readiness) {
+		return valueOf(readiness.trim().toUpperCase());
+	}
+
+}
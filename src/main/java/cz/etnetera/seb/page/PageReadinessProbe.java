@@ -0,0 +1,80 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.page;
+
+import cz.etnetera.seb.SebContext;
+
+/**
+ * Waits in browser until page is ready. Page is ready when document is
+ * loaded, there is no pending XHR or fetch request and DOM was not changed
+ * for quiet period. Everything is checked in one asynchronous script call.
+ * 
+ * Requests are tracked since first probe on the page, requests started
+ * before it are not known except those made by jQuery.
+ */
+public class PageReadinessProbe {
+
+	/**
+	 * Asynchronous script waiting for page readiness. First argument is quiet
+	 * period, second one timeout, both in milliseconds. Returns true if page
+	 * is ready, false if timeout expired.
+	 */
+	public static final String SCRIPT = "var quiet = arguments[0], end = Date.now() + arguments[1],"
+			+ " done = arguments[arguments.length - 1], w = window, state = w.__sebReadiness;"
+			+ "if (!state) {"
+			+ " state = w.__sebReadiness = { pending: 0, changed: Date.now() };"
+			+ " var xhr = w.XMLHttpRequest && w.XMLHttpRequest.prototype;"
+			+ " if (xhr) {"
+			+ "  var send = xhr.send;"
+			+ "  xhr.send = function () {"
+			+ "   var counted = true; state.pending++;"
+			+ "   function finish() { if (counted) { counted = false; state.pending--; } }"
+			+ "   this.addEventListener('loadend', finish);"
+			+ "   try { return send.apply(this, arguments); } catch (e) { finish(); throw e; } }; }"
+			+ " if (w.fetch) {"
+			+ "  var fetch = w.fetch;"
+			+ "  w.fetch = function () {"
+			+ "   state.pending++;"
+			+ "   function finish() { state.pending--; }"
+			+ "   try { var result = fetch.apply(this, arguments); result.then(finish, finish); return result; }"
+			+ "   catch (e) { finish(); throw e; } }; }"
+			+ " if (w.MutationObserver)"
+			+ "  new w.MutationObserver(function () { state.changed = Date.now(); }).observe(document,"
+			+ "   { childList: true, subtree: true, attributes: true, characterData: true }); }"
+			+ "(function check() {"
+			+ " var now = Date.now(), idle = now - state.changed;"
+			+ " var ready = document.readyState === 'complete' && state.pending <= 0"
+			+ "  && !(w.jQuery && w.jQuery.active > 0) && idle >= quiet;"
+			+ " if (ready || now >= end) { done(ready); return; }"
+			+ " setTimeout(check, Math.max(10, Math.min(end - now, idle < quiet ? quiet - idle : 50))); })();";
+
+	/**
+	 * Waits until page is ready or timeout expires.
+	 * 
+	 * @param context
+	 *            The context
+	 * @param timeout
+	 *            The timeout in seconds
+	 * @param quietPeriod
+	 *            The time in seconds DOM must not change
+	 * @return True if page is ready, false if timeout expired
+	 */
+	public static boolean await(SebContext context, double timeout, double quietPeriod) {
+		long timeoutMillis = (long) (timeout * 1000);
+		return Boolean.TRUE.equals(context.getSeb().executeAsyncScript(timeoutMillis, SCRIPT,
+				(long) (quietPeriod * 1000), timeoutMillis));
+	}
+
+}
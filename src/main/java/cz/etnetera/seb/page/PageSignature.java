@@ -0,0 +1,118 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.By;
+
+import cz.etnetera.seb.SebContext;
+import cz.etnetera.seb.SebException;
+import cz.etnetera.seb.SebScriptCondition;
+
+/**
+ * Cheap page identification used by {@link SebContext#initOnePage(Object...)}
+ * to pick candidate pages before their full initialization. Signature
+ * matches if current url matches url regex and marker element is present,
+ * missing parts are not checked. Signatures of all candidates are checked
+ * in one script call.
+ * 
+ * Markers which can not be evaluated in browser, see
+ * {@link SebScriptCondition}, are not checked.
+ */
+public class PageSignature {
+
+	/**
+	 * Script checking markers. First argument is list of markers converted
+	 * by {@link SebScriptCondition#toScriptLocator(By)}. Returns current url
+	 * and list of marker presence flags.
+	 */
+	public static final String SCRIPT = SebScriptCondition.FIND_FUNCTION
+			+ "var locs = arguments[0], found = [];"
+			+ "for (var i = 0; i < locs.length; i++) {"
+			+ " try { found.push(!locs[i] || find(document, locs[i]).length > 0); } catch (e) { found.push(false); } }"
+			+ "return [location.href, found];";
+
+	protected final Pattern urlPattern;
+
+	protected final By marker;
+
+	protected final List<String> scriptMarker;
+
+	public PageSignature(Pattern urlPattern, By marker) {
+		this.urlPattern = urlPattern;
+		this.marker = marker;
+		this.scriptMarker = toScriptMarker(marker);
+	}
+
+	public PageSignature(String urlRegex, By marker) {
+		this(urlRegex == null ? null : Pattern.compile(urlRegex), marker);
+	}
+
+	public Pattern getUrlPattern() {
+		return urlPattern;
+	}
+
+	public By getMarker() {
+		return marker;
+	}
+
+	/**
+	 * Checks given signatures in one script call.
+	 * 
+	 * @param context
+	 *            The context
+	 * @param signatures
+	 *            The signatures, null signature always matches
+	 * @return The match flags in signatures order
+	 */
+	@SuppressWarnings("unchecked")
+	public static boolean[] match(SebContext context, List<PageSignature> signatures) {
+		List<List<String>> markers = new ArrayList<>(signatures.size());
+		for (PageSignature signature : signatures)
+			markers.add(signature == null ? null : signature.scriptMarker);
+		List<Object> result = (List<Object>) context.getSeb().executeScript(SCRIPT, markers);
+		String url = (String) result.get(0);
+		List<Object> found = (List<Object>) result.get(1);
+		boolean[] matches = new boolean[signatures.size()];
+		for (int i = 0; i < matches.length; i++) {
+			PageSignature signature = signatures.get(i);
+			matches[i] = signature == null || Boolean.TRUE.equals(found.get(i)) && signature.matchesUrl(url);
+		}
+		return matches;
+	}
+
+	protected boolean matchesUrl(String url) {
+		return urlPattern == null || url != null && urlPattern.matcher(url).matches();
+	}
+
+	protected static List<String> toScriptMarker(By marker) {
+		if (marker == null)
+			return null;
+		try {
+			return SebScriptCondition.toScriptLocator(marker);
+		} catch (SebException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "url " + urlPattern + ", marker " + marker;
+	}
+
+}
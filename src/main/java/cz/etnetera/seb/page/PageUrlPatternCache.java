@@ -0,0 +1,85 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.page;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Caches compiled url patterns of {@link Page} classes, so url regex is not
+ * compiled on every verification. Patterns are cached per page class and
+ * regex, which is derived from page configuration. Regex can contain
+ * dynamic parts of page instance, so only {@link #MAX_PATTERNS} recently
+ * used patterns are kept per class.
+ */
+public class PageUrlPatternCache {
+
+	/**
+	 * Cache shared by all Seb instances.
+	 */
+	public static final PageUrlPatternCache SHARED = new PageUrlPatternCache();
+
+	/**
+	 * Maximal count of patterns cached per page class.
+	 */
+	public static final int MAX_PATTERNS = 16;
+
+	protected final ClassValue<Map<String, Pattern>> patterns = new ClassValue<Map<String, Pattern>>() {
+		@Override
+		protected Map<String, Pattern> computeValue(Class<?> type) {
+			return new LinkedHashMap<String, Pattern>(MAX_PATTERNS * 2, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+					return size() > MAX_PATTERNS;
+				}
+			};
+		}
+	};
+
+	protected final AtomicLong compileCount = new AtomicLong();
+
+	/**
+	 * Returns compiled pattern of given regex used by given page class.
+	 * 
+	 * @param page
+	 *            The page class
+	 * @param regex
+	 *            The regex
+	 * @return The compiled pattern
+	 */
+	public Pattern getPattern(Class<?> page, String regex) {
+		Map<String, Pattern> pagePatterns = patterns.get(page);
+		synchronized (pagePatterns) {
+			return pagePatterns.computeIfAbsent(regex, r -> {
+				compileCount.incrementAndGet();
+				return Pattern.compile(r);
+			});
+		}
+	}
+
+	/**
+	 * Returns how many patterns were compiled.
+	 * 
+	 * @return The compiled patterns count
+	 */
+	public long getCompileCount() {
+		return compileCount.get();
+	}
+
+}
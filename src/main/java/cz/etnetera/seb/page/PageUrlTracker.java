@@ -0,0 +1,123 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.page;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import cz.etnetera.seb.SebScriptCondition;
+import cz.etnetera.seb.configuration.BasicSebConfiguration;
+import cz.etnetera.seb.element.SebElementProperties;
+import cz.etnetera.seb.event.impl.AfterNavigateToEvent;
+import cz.etnetera.seb.event.impl.BeforeChangeValueOfEvent;
+import cz.etnetera.seb.event.impl.BeforeClickOnEvent;
+import cz.etnetera.seb.event.impl.BeforeDriverQuitEvent;
+import cz.etnetera.seb.event.impl.BeforeNavigateBackEvent;
+import cz.etnetera.seb.event.impl.BeforeNavigateForwardEvent;
+import cz.etnetera.seb.event.impl.BeforeNavigateRefreshEvent;
+import cz.etnetera.seb.event.impl.BeforeNavigateToEvent;
+import cz.etnetera.seb.event.impl.BeforeScriptEvent;
+import cz.etnetera.seb.listener.SebListener;
+
+/**
+ * Remembers url of last navigation, so {@link Page#verifyUrl()} does not
+ * have to ask driver for current url. Url is forgotten on any click, value
+ * change, navigation or script which is not known to be read only.
+ * 
+ * Navigated url is the requested one, so it is valid only if application
+ * does not redirect and does not change location by itself. Driver fires no
+ * event for {@link org.openqa.selenium.WebElement#submit()}, window switch
+ * or input from {@link org.openqa.selenium.interactions.Actions}, so Seb
+ * calls {@link #forget()} on {@link cz.etnetera.seb.element.SebElement#submit()},
+ * on every {@link org.openqa.selenium.WebDriver#switchTo()} and when input
+ * devices are obtained from driver. Submit of element found directly by
+ * driver is not noticed. It is enabled using
+ * {@link BasicSebConfiguration#REUSE_NAVIGATED_URL}.
+ */
+public class PageUrlTracker extends SebListener {
+
+	/**
+	 * Scripts executed by Seb which do not change location.
+	 */
+	protected static final Set<String> READ_ONLY_SCRIPTS = new HashSet<>(Arrays.asList(
+			SebScriptCondition.CHECK_SCRIPT, SebScriptCondition.AWAIT_SCRIPT, SebElementProperties.SCRIPT,
+			PageSignature.SCRIPT, PageReadinessProbe.SCRIPT));
+
+	protected volatile String url;
+
+	/**
+	 * Returns url of last navigation if nothing could change it since.
+	 * 
+	 * @return The navigated url or null
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Forgets navigated url when location could change without driver event.
+	 */
+	public void forget() {
+		url = null;
+	}
+
+	@Override
+	public void beforeNavigateTo(BeforeNavigateToEvent event) {
+		url = null;
+	}
+
+	@Override
+	public void afterNavigateTo(AfterNavigateToEvent event) {
+		url = event.getUrl();
+	}
+
+	@Override
+	public void beforeNavigateBack(BeforeNavigateBackEvent event) {
+		url = null;
+	}
+
+	@Override
+	public void beforeNavigateForward(BeforeNavigateForwardEvent event) {
+		url = null;
+	}
+
+	@Override
+	public void beforeNavigateRefresh(BeforeNavigateRefreshEvent event) {
+		url = null;
+	}
+
+	@Override
+	public void beforeClickOn(BeforeClickOnEvent event) {
+		url = null;
+	}
+
+	@Override
+	public void beforeChangeValueOf(BeforeChangeValueOfEvent event) {
+		url = null;
+	}
+
+	@Override
+	public void beforeScript(BeforeScriptEvent event) {
+		if (!READ_ONLY_SCRIPTS.contains(event.getScript()))
+			url = null;
+	}
+
+	@Override
+	public void beforeDriverQuit(BeforeDriverQuitEvent event) {
+		url = null;
+	}
+
+}
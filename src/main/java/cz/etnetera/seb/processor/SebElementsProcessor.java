@@ -0,0 +1,357 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+
+import org.openqa.selenium.support.CacheLookup;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+
+import cz.etnetera.seb.SebUtils;
+import cz.etnetera.seb.element.FindByDefault;
+import cz.etnetera.seb.element.RequiredElement;
+import cz.etnetera.seb.element.SebElementsInitializer;
+import cz.etnetera.seb.element.SebFieldDecorator;
+import cz.etnetera.seb.element.SnapshotList;
+
+/**
+ * Annotation processor which generates {@link SebElementsInitializer} for
+ * every {@link cz.etnetera.seb.SebContext} class declaring fields annotated
+ * with {@link FindBy}, {@link FindBys}, {@link FindAll} or
+ * {@link FindByDefault}. Generated initializers set fields same way as
+ * {@link SebFieldDecorator} does, without reflection.
+ *
+ * Processor is not registered automatically. Enable it in the project which
+ * contains pages and modules, e.g. using maven-compiler-plugin
+ * <code>annotationProcessors</code> configuration with value
+ * <code>cz.etnetera.seb.processor.SebElementsProcessor</code>.
+ *
+ * Classes with private, final or static element fields, private classes and
+ * classes with fields which can not be decorated statically are skipped and
+ * initialized using reflection as before.
+ */
+@SupportedAnnotationTypes({ "org.openqa.selenium.support.FindBy", "org.openqa.selenium.support.FindBys",
+		"org.openqa.selenium.support.FindAll", "cz.etnetera.seb.element.FindByDefault" })
+public class SebElementsProcessor extends AbstractProcessor {
+
+	protected static final String SEB_CONTEXT_CLASS = "cz.etnetera.seb.SebContext";
+
+	protected static final String SEB_ELEMENT_CLASS = "cz.etnetera.seb.element.SebElement";
+
+	protected static final String WEB_ELEMENT_CLASS = "org.openqa.selenium.WebElement";
+
+	protected static final String LIST_CLASS = "java.util.List";
+
+	protected static final String BY_CLASS = "org.openqa.selenium.By";
+
+	protected final Set<String> processed = new HashSet<>();
+
+	protected final SebUtils utils = new SebUtils();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement sebContext = processingEnv.getElementUtils().getTypeElement(SEB_CONTEXT_CLASS);
+		if (sebContext == null)
+			return false;
+		Set<TypeElement> types = new LinkedHashSet<>();
+		for (TypeElement annotation : annotations) {
+			for (VariableElement field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+				types.add((TypeElement) field.getEnclosingElement());
+			}
+		}
+		for (TypeElement type : types) {
+			processType(type, sebContext);
+		}
+		return false;
+	}
+
+	protected void processType(TypeElement type, TypeElement sebContext) {
+		if (type.getKind() != ElementKind.CLASS || !getTypes().isSubtype(getTypes().erasure(type.asType()),
+				getTypes().erasure(sebContext.asType())))
+			return;
+		String binaryName = getElements().getBinaryName(type).toString();
+		String generatedName = utils.getGeneratedClassName(binaryName, SebElementsInitializer.CLASS_NAME_SUFFIX);
+		if (!processed.add(generatedName))
+			return;
+		try {
+			if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER)
+				throw new UnsupportedElementsException("local and anonymous classes are not supported");
+			if (!isAccessible(type, getElements().getPackageOf(type)))
+				throw new UnsupportedElementsException("class is not accessible from its package");
+			writeInitializerClass(type, generatedName);
+		} catch (UnsupportedElementsException e) {
+			processingEnv.getMessager().printMessage(Kind.NOTE,
+					"Elements of " + type.getQualifiedName() + " are initialized using reflection, " + e.getMessage(),
+					type);
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR,
+					"Unable to generate elements initializer " + generatedName + ": " + e.getMessage(), type);
+		}
+	}
+
+	protected void writeInitializerClass(TypeElement type, String generatedName)
+			throws IOException, UnsupportedElementsException {
+		int packageEnd = generatedName.lastIndexOf('.');
+		String packageName = packageEnd < 0 ? null : generatedName.substring(0, packageEnd);
+		String simpleName = generatedName.substring(packageEnd + 1);
+		String contextName = getTypes().erasure(type.asType()).toString();
+
+		List<String> bys = new ArrayList<>();
+		StringBuilder body = new StringBuilder();
+		for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			if (!isAnnotated(field))
+				continue;
+			appendField(body, field, type, bys);
+		}
+
+		StringBuilder sb = new StringBuilder();
+		if (packageName != null)
+			sb.append("package ").append(packageName).append(";\n\n");
+		sb.append("/**\n * Elements initializer for {@link ").append(contextName).append("} generated by {@link ")
+				.append(getClass().getName()).append("}.\n */\n");
+		sb.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\", \"deprecation\" })\n");
+		sb.append("public final class ").append(simpleName).append(" implements ")
+				.append(SebElementsInitializer.class.getName()).append('<').append(contextName).append("> {\n");
+		for (int i = 0; i < bys.size(); i++) {
+			sb.append("\n\tprivate static final ").append(BY_CLASS).append(" BY_").append(i).append(" = ")
+					.append(bys.get(i)).append(";\n");
+		}
+		sb.append("\n\t@Override\n\tpublic void initElements(").append(contextName).append(" context) {\n");
+		sb.append("\t\tcz.etnetera.seb.element.SebElementLoader loader = context.getSeb().getElementLoader();\n");
+		sb.append(body);
+		sb.append("\t}\n\n}\n");
+
+		try (Writer writer = processingEnv.getFiler().createSourceFile(generatedName, type).openWriter()) {
+			writer.write(sb.toString());
+		}
+	}
+
+	protected void appendField(StringBuilder body, VariableElement field, TypeElement type, List<String> bys)
+			throws UnsupportedElementsException {
+		Set<Modifier> modifiers = field.getModifiers();
+		if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+				|| modifiers.contains(Modifier.FINAL))
+			throw new UnsupportedElementsException("field " + field.getSimpleName() + " is private, static or final");
+
+		PackageElement pkg = getElements().getPackageOf(type);
+		TypeMirror fieldType = getTypes().erasure(field.asType());
+		TypeMirror webElement = getErasure(WEB_ELEMENT_CLASS);
+		TypeMirror sebElement = getErasure(SEB_ELEMENT_CLASS);
+		TypeMirror list = getErasure(LIST_CLASS);
+
+		TypeMirror elementType;
+		boolean isList;
+		if (getTypes().isSubtype(fieldType, webElement)) {
+			elementType = getTypes().isSubtype(fieldType, sebElement) ? fieldType : sebElement;
+			if (!getTypes().isAssignable(elementType, fieldType))
+				throw new UnsupportedElementsException("type of field " + field.getSimpleName() + " is not supported");
+			isList = false;
+		} else if (getTypes().isSubtype(fieldType, list)) {
+			if (!getTypes().isSameType(fieldType, list))
+				throw new UnsupportedElementsException("type of field " + field.getSimpleName() + " is not supported");
+			List<? extends TypeMirror> arguments = ((DeclaredType) field.asType()).getTypeArguments();
+			if (arguments.isEmpty())
+				return;
+			TypeMirror argument = arguments.get(0);
+			if (argument.getKind() != TypeKind.DECLARED || !((DeclaredType) argument).getTypeArguments().isEmpty())
+				throw new UnsupportedElementsException("type of field " + field.getSimpleName() + " is not supported");
+			if (!getTypes().isSubtype(argument, webElement))
+				return;
+			elementType = getTypes().isSubtype(argument, sebElement) ? argument : sebElement;
+			isList = true;
+		} else {
+			return;
+		}
+		if (fieldType.getKind() == TypeKind.DECLARED
+				&& !isAccessible((TypeElement) getTypes().asElement(fieldType), pkg)
+				|| !isAccessible((TypeElement) getTypes().asElement(elementType), pkg))
+			throw new UnsupportedElementsException("type of field " + field.getSimpleName() + " is not accessible");
+
+		String by = "BY_" + bys.size();
+		bys.add(getByExpression(field));
+		String locator = "context.createElementLocator(" + by + ", "
+				+ (field.getAnnotation(CacheLookup.class) != null) + ")";
+		body.append("\t\tcontext.").append(field.getSimpleName()).append(" = (").append(fieldType).append(") ");
+		if (isList) {
+			body.append(field.getAnnotation(SnapshotList.class) == null ? "loader.find(context, "
+					: "loader.findSnapshot(context, ").append(locator).append(", ").append(elementType).append(".class);\n");
+		} else {
+			body.append("loader.findOne(context, ").append(locator).append(", ").append(elementType)
+					.append(".class, ").append(field.getAnnotation(RequiredElement.class) == null).append(");\n");
+		}
+	}
+
+	/**
+	 * Returns expression creating same locator as
+	 * {@link org.openqa.selenium.support.pagefactory.Annotations} does.
+	 *
+	 * @param field
+	 *            The annotated field
+	 * @return The locator expression
+	 * @throws UnsupportedElementsException
+	 *             If annotations are not valid
+	 */
+	protected String getByExpression(VariableElement field) throws UnsupportedElementsException {
+		FindBys findBys = field.getAnnotation(FindBys.class);
+		FindAll findAll = field.getAnnotation(FindAll.class);
+		FindBy findBy = field.getAnnotation(FindBy.class);
+		if (findBy != null && (findBys != null || findAll != null) || findBys != null && findAll != null)
+			throw new UnsupportedElementsException(
+					"field " + field.getSimpleName() + " combines FindBy, FindBys and FindAll annotations");
+		if (findBys != null)
+			return "new org.openqa.selenium.support.pagefactory.ByChained(" + getByExpressions(findBys.value(), field)
+					+ ")";
+		if (findAll != null)
+			return "new org.openqa.selenium.support.pagefactory.ByAll(" + getByExpressions(findAll.value(), field)
+					+ ")";
+		if (findBy != null)
+			return getByExpression(findBy, field);
+		return "new org.openqa.selenium.support.ByIdOrName(" + literal(field.getSimpleName().toString()) + ")";
+	}
+
+	protected String getByExpressions(FindBy[] findBys, VariableElement field) throws UnsupportedElementsException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < findBys.length; i++) {
+			if (i > 0)
+				sb.append(", ");
+			sb.append(getByExpression(findBys[i], field));
+		}
+		return sb.toString();
+	}
+
+	protected String getByExpression(FindBy findBy, VariableElement field) throws UnsupportedElementsException {
+		String[][] shortFinders = { { "className", findBy.className() }, { "cssSelector", findBy.css() },
+				{ "id", findBy.id() }, { "linkText", findBy.linkText() }, { "name", findBy.name() },
+				{ "partialLinkText", findBy.partialLinkText() }, { "tagName", findBy.tagName() },
+				{ "xpath", findBy.xpath() } };
+		String by = null;
+		int finders = "".equals(findBy.using()) ? 0 : 1;
+		for (String[] finder : shortFinders) {
+			if ("".equals(finder[1]))
+				continue;
+			finders++;
+			if (by == null)
+				by = BY_CLASS + "." + finder[0] + "(" + literal(finder[1]) + ")";
+		}
+		if (finders > 1)
+			throw new UnsupportedElementsException(
+					"field " + field.getSimpleName() + " has more than one finder in FindBy annotation");
+		if (by != null)
+			return by;
+		String using = literal(findBy.using());
+		switch (findBy.how()) {
+		case CLASS_NAME:
+			return BY_CLASS + ".className(" + using + ")";
+		case CSS:
+			return BY_CLASS + ".cssSelector(" + using + ")";
+		case ID:
+		case UNSET:
+			return BY_CLASS + ".id(" + using + ")";
+		case ID_OR_NAME:
+			return "new org.openqa.selenium.support.ByIdOrName(" + using + ")";
+		case LINK_TEXT:
+			return BY_CLASS + ".linkText(" + using + ")";
+		case NAME:
+			return BY_CLASS + ".name(" + using + ")";
+		case PARTIAL_LINK_TEXT:
+			return BY_CLASS + ".partialLinkText(" + using + ")";
+		case TAG_NAME:
+			return BY_CLASS + ".tagName(" + using + ")";
+		case XPATH:
+			return BY_CLASS + ".xpath(" + using + ")";
+		default:
+			throw new UnsupportedElementsException(
+					"field " + field.getSimpleName() + " uses unknown locator " + findBy.how());
+		}
+	}
+
+	protected boolean isAnnotated(VariableElement field) {
+		return field.getAnnotation(FindBy.class) != null || field.getAnnotation(FindBys.class) != null
+				|| field.getAnnotation(FindAll.class) != null || field.getAnnotation(FindByDefault.class) != null;
+	}
+
+	protected boolean isAccessible(TypeElement type, PackageElement pkg) {
+		for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+			Set<Modifier> modifiers = element.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE))
+				return false;
+			if (!modifiers.contains(Modifier.PUBLIC) && !getElements().getPackageOf(element).equals(pkg))
+				return false;
+		}
+		return true;
+	}
+
+	protected TypeMirror getErasure(String className) {
+		return getTypes().erasure(getElements().getTypeElement(className).asType());
+	}
+
+	protected String literal(String value) {
+		return getElements().getConstantExpression(value);
+	}
+
+	protected Elements getElements() {
+		return processingEnv.getElementUtils();
+	}
+
+	protected Types getTypes() {
+		return processingEnv.getTypeUtils();
+	}
+
+	/**
+	 * Thrown when class elements can not be initialized by generated code.
+	 */
+	protected static class UnsupportedElementsException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		public UnsupportedElementsException(String message) {
+			super(message);
+		}
+
+	}
+
+}
@@ -0,0 +1,277 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.IntersectionType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+import cz.etnetera.seb.SebUtils;
+import cz.etnetera.seb.element.DisableLazyInit;
+import cz.etnetera.seb.element.SebElement;
+import cz.etnetera.seb.element.SebElementLazyInitCache;
+
+/**
+ * Annotation processor which generates lazy initialization subclasses for
+ * every {@link SebElement} subclass compiled with it. Generated classes
+ * replace runtime generated ones used for optional elements, so no bytecode
+ * is generated when tests are running.
+ *
+ * Processor is not registered automatically. Enable it in the project which
+ * contains pages and modules, e.g. using maven-compiler-plugin
+ * <code>annotationProcessors</code> configuration with value
+ * <code>cz.etnetera.seb.processor.SebLazyInitProcessor</code>.
+ *
+ * Generic, abstract, final, private and inner classes are skipped and
+ * generated at runtime as before.
+ */
+@SupportedAnnotationTypes("*")
+public class SebLazyInitProcessor extends AbstractProcessor {
+
+	protected static final String SEB_ELEMENT_CLASS = "cz.etnetera.seb.element.SebElement";
+
+	protected static final String DISABLE_LAZY_INIT_CLASS = "cz.etnetera.seb.element.DisableLazyInit";
+
+	protected final Set<String> processed = new HashSet<>();
+
+	protected final SebUtils utils = new SebUtils();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement sebElement = processingEnv.getElementUtils().getTypeElement(SEB_ELEMENT_CLASS);
+		if (sebElement != null) {
+			for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+				processType(type, sebElement);
+			}
+		}
+		return false;
+	}
+
+	protected void processType(TypeElement type, TypeElement sebElement) {
+		for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+			processType(nested, sebElement);
+		}
+		if (!isSupported(type, sebElement))
+			return;
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String generatedName = utils.getGeneratedClassName(binaryName, SebElementLazyInitCache.CLASS_NAME_SUFFIX);
+		if (!processed.add(generatedName))
+			return;
+		try {
+			writeLazyInitClass(type, generatedName);
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR,
+					"Unable to generate lazy init class " + generatedName + ": " + e.getMessage(), type);
+		}
+	}
+
+	protected boolean isSupported(TypeElement type, TypeElement sebElement) {
+		if (type.getKind() != ElementKind.CLASS || type.equals(sebElement))
+			return false;
+		if (type.getSimpleName().toString().endsWith(SebElementLazyInitCache.CLASS_NAME_SUFFIX))
+			return false;
+		Set<Modifier> modifiers = type.getModifiers();
+		if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.FINAL)
+				|| modifiers.contains(Modifier.PRIVATE) || !type.getTypeParameters().isEmpty())
+			return false;
+		if (type.getNestingKind() == NestingKind.MEMBER) {
+			if (!modifiers.contains(Modifier.STATIC))
+				return false;
+			Element enclosing = type.getEnclosingElement();
+			if (enclosing instanceof TypeElement && !isSupportedEnclosing((TypeElement) enclosing))
+				return false;
+		} else if (type.getNestingKind() != NestingKind.TOP_LEVEL) {
+			return false;
+		}
+		if (!hasAccessibleConstructor(type))
+			return false;
+		return processingEnv.getTypeUtils().isSubtype(processingEnv.getTypeUtils().erasure(type.asType()),
+				processingEnv.getTypeUtils().erasure(sebElement.asType()));
+	}
+
+	protected boolean isSupportedEnclosing(TypeElement type) {
+		if (type.getModifiers().contains(Modifier.PRIVATE))
+			return false;
+		Element enclosing = type.getEnclosingElement();
+		return !(enclosing instanceof TypeElement) || isSupportedEnclosing((TypeElement) enclosing);
+	}
+
+	protected boolean hasAccessibleConstructor(TypeElement type) {
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE))
+				return true;
+		}
+		return false;
+	}
+
+	protected void writeLazyInitClass(TypeElement type, String generatedName) throws IOException {
+		int packageEnd = generatedName.lastIndexOf('.');
+		String packageName = packageEnd < 0 ? null : generatedName.substring(0, packageEnd);
+		String simpleName = generatedName.substring(packageEnd + 1);
+		DeclaredType declaredType = (DeclaredType) type.asType();
+
+		StringBuilder sb = new StringBuilder();
+		if (packageName != null)
+			sb.append("package ").append(packageName).append(";\n\n");
+		sb.append("/**\n * Lazy initialization class for {@link ").append(type.getQualifiedName())
+				.append("} generated by {@link ").append(getClass().getName()).append("}.\n */\n");
+		sb.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\", \"deprecation\" })\n");
+		sb.append("public final class ").append(simpleName).append(" extends ").append(type.getQualifiedName())
+				.append(" {\n");
+		for (ExecutableElement method : getInterceptedMethods(type)) {
+			ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(declaredType,
+					method);
+			appendMethod(sb, method, methodType);
+		}
+		sb.append("\n}\n");
+
+		try (Writer writer = processingEnv.getFiler().createSourceFile(generatedName, type).openWriter()) {
+			writer.write(sb.toString());
+		}
+	}
+
+	/**
+	 * Returns methods intercepted same way as runtime generated classes do. It
+	 * is every public method which can be overridden and is not annotated with
+	 * {@link DisableLazyInit}.
+	 *
+	 * @param type
+	 *            The element type
+	 * @return The intercepted methods
+	 */
+	protected List<ExecutableElement> getInterceptedMethods(TypeElement type) {
+		Map<String, ExecutableElement> methods = new LinkedHashMap<>();
+		for (ExecutableElement method : ElementFilter
+				.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+			Set<Modifier> modifiers = method.getModifiers();
+			if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+					|| modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.ABSTRACT))
+				continue;
+			methods.putIfAbsent(getSignatureKey(type, method), method);
+		}
+		List<ExecutableElement> intercepted = new ArrayList<>();
+		for (ExecutableElement method : methods.values()) {
+			if (!isLazyInitDisabled(method))
+				intercepted.add(method);
+		}
+		return intercepted;
+	}
+
+	protected String getSignatureKey(TypeElement type, ExecutableElement method) {
+		ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils()
+				.asMemberOf((DeclaredType) type.asType(), method);
+		StringBuilder sb = new StringBuilder(method.getSimpleName());
+		for (TypeMirror parameter : methodType.getParameterTypes()) {
+			sb.append(',').append(processingEnv.getTypeUtils().erasure(parameter));
+		}
+		return sb.toString();
+	}
+
+	protected boolean isLazyInitDisabled(ExecutableElement method) {
+		for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+			if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+					.contentEquals(DISABLE_LAZY_INIT_CLASS))
+				return true;
+		}
+		return false;
+	}
+
+	protected void appendMethod(StringBuilder sb, ExecutableElement method, ExecutableType methodType) {
+		sb.append("\n\t@Override\n\tpublic ");
+		List<? extends TypeVariable> typeVariables = methodType.getTypeVariables();
+		if (!typeVariables.isEmpty()) {
+			sb.append('<');
+			for (int i = 0; i < typeVariables.size(); i++) {
+				if (i > 0)
+					sb.append(", ");
+				appendTypeVariable(sb, typeVariables.get(i));
+			}
+			sb.append("> ");
+		}
+		sb.append(methodType.getReturnType()).append(' ').append(method.getSimpleName()).append('(');
+		List<? extends TypeMirror> parameters = methodType.getParameterTypes();
+		for (int i = 0; i < parameters.size(); i++) {
+			if (i > 0)
+				sb.append(", ");
+			TypeMirror parameter = parameters.get(i);
+			if (method.isVarArgs() && i == parameters.size() - 1 && parameter.getKind() == TypeKind.ARRAY) {
+				sb.append(((ArrayType) parameter).getComponentType()).append("...");
+			} else {
+				sb.append(parameter);
+			}
+			sb.append(" arg").append(i);
+		}
+		sb.append(')');
+		List<? extends TypeMirror> thrown = methodType.getThrownTypes();
+		for (int i = 0; i < thrown.size(); i++) {
+			sb.append(i == 0 ? " throws " : ", ").append(thrown.get(i));
+		}
+		sb.append(" {\n\t\tinit();\n\t\t");
+		if (methodType.getReturnType().getKind() != TypeKind.VOID)
+			sb.append("return ");
+		sb.append("super.").append(method.getSimpleName()).append('(');
+		for (int i = 0; i < parameters.size(); i++) {
+			if (i > 0)
+				sb.append(", ");
+			sb.append("arg").append(i);
+		}
+		sb.append(");\n\t}\n");
+	}
+
+	protected void appendTypeVariable(StringBuilder sb, TypeVariable typeVariable) {
+		sb.append(typeVariable.asElement().getSimpleName());
+		TypeMirror bound = typeVariable.getUpperBound();
+		if (bound.getKind() == TypeKind.INTERSECTION) {
+			List<? extends TypeMirror> bounds = ((IntersectionType) bound).getBounds();
+			for (int i = 0; i < bounds.size(); i++) {
+				sb.append(i == 0 ? " extends " : " & ").append(bounds.get(i));
+			}
+		} else if (!bound.toString().equals(Object.class.getName())) {
+			sb.append(" extends ").append(bound);
+		}
+	}
+
+}
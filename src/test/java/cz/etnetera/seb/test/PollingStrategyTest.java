@@ -0,0 +1,63 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import cz.etnetera.seb.PollingStrategy;
+
+public class PollingStrategyTest {
+
+	@Test
+	public void fixedKeepsInterval() {
+		for (int poll = 1; poll <= 10; poll++)
+			assertEquals(100, PollingStrategy.FIXED.getDelay(poll, 100, 2000));
+	}
+
+	@Test
+	public void backoffDoublesUpToMaxInterval() {
+		long[] expected = { 100, 200, 400, 800, 1600, 2000, 2000 };
+		for (int i = 0; i < expected.length; i++)
+			assertEquals(expected[i], PollingStrategy.BACKOFF.getDelay(i + 1, 100, 2000));
+		assertEquals(2000, PollingStrategy.BACKOFF.getDelay(Integer.MAX_VALUE, 100, 2000));
+	}
+
+	@Test
+	public void jitterStaysInUpperHalfOfBackoff() {
+		for (int poll = 1; poll <= 8; poll++) {
+			long backoff = PollingStrategy.BACKOFF.getDelay(poll, 100, 2000);
+			for (int i = 0; i < 50; i++) {
+				long delay = PollingStrategy.JITTER.getDelay(poll, 100, 2000);
+				assertTrue(delay + " not in half of " + backoff, delay >= backoff / 2 && delay <= backoff);
+			}
+		}
+	}
+
+	@Test
+	public void fastThenSlowSwitchesAfterFastPolls() {
+		for (int poll = 1; poll < PollingStrategy.FAST_POLLS; poll++)
+			assertEquals(100, PollingStrategy.FAST_THEN_SLOW.getDelay(poll, 100, 2000));
+		assertEquals(2000, PollingStrategy.FAST_THEN_SLOW.getDelay(PollingStrategy.FAST_POLLS, 100, 2000));
+	}
+
+	@Test
+	public void parseIgnoresCase() {
+		assertEquals(PollingStrategy.FAST_THEN_SLOW, PollingStrategy.parse(" fast_then_slow "));
+	}
+
+}
@@ -0,0 +1,102 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import cz.etnetera.seb.SebBlobStore;
+
+public class SebBlobStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	protected Path root;
+
+	protected SebBlobStore store;
+
+	@Before
+	public void before() {
+		root = folder.getRoot().toPath();
+		store = new SebBlobStore(root);
+	}
+
+	@Test
+	public void storesSameContentOnce() throws IOException {
+		byte[] bytes = bytes("<html>same</html>");
+		Path blob = store.getBlobPath(bytes, "html");
+		assertEquals(blob, store.getBlobPath(bytes("<html>same</html>"), "html"));
+		assertNotEquals(blob, store.getBlobPath(bytes("<html>other</html>"), "html"));
+		assertTrue(store.store(blob, bytes));
+		assertFalse(store.store(blob, bytes));
+		assertEquals(1, store.getStoredCount());
+		assertEquals(1, store.getDeduplicatedCount());
+		assertArrayEquals(bytes, Files.readAllBytes(blob));
+		try (Stream<Path> files = Files.list(blob.getParent())) {
+			assertEquals(Collections.singletonList(blob), files.collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void linksLogicalFilesToBlob() throws IOException {
+		byte[] bytes = bytes("screenshot");
+		Path blob = store.getBlobPath(bytes, "png");
+		store.store(blob, bytes);
+		Path first = Files.createFile(root.resolve("first.png"));
+		Path second = Files.createFile(root.resolve("second.png"));
+		boolean linked = store.link(first, blob, bytes);
+		assertEquals(linked, store.link(second, blob, bytes));
+		assertArrayEquals(bytes, Files.readAllBytes(first));
+		assertArrayEquals(bytes, Files.readAllBytes(second));
+		assertFalse(Files.exists(root.resolve("first.png.link")));
+		if (linked)
+			assertTrue(Files.isSameFile(first, blob));
+		assertEquals(linked ? 2 : 0, store.getLinkedCount());
+	}
+
+	@Test
+	public void indexesRelativePaths() throws IOException {
+		byte[] bytes = bytes("log");
+		Path blob = store.getBlobPath(bytes, null);
+		Path nested = root.resolve("sub").resolve("a.log");
+		store.index(nested, blob);
+		store.index(root.resolve("b.log"), blob);
+		assertEquals(Arrays.asList(root.relativize(nested) + "\t" + blob.getFileName(), "b.log\t" + blob.getFileName()),
+				Files.readAllLines(store.getIndex(), StandardCharsets.UTF_8));
+	}
+
+	protected byte[] bytes(String content) {
+		return content.getBytes(StandardCharsets.UTF_8);
+	}
+
+}
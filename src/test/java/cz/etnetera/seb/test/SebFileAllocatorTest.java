@@ -0,0 +1,123 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import cz.etnetera.seb.SebFileAllocator;
+
+public class SebFileAllocatorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	protected File root;
+
+	protected SebFileAllocator allocator;
+
+	@Before
+	public void before() {
+		root = folder.getRoot();
+		allocator = new SebFileAllocator();
+	}
+
+	@Test
+	public void allocatesSuffixedNames() throws IOException {
+		assertEquals("report.txt", allocate("report"));
+		assertEquals("report-1.txt", allocate("report"));
+		assertEquals("report-2.txt", allocate("report"));
+		assertEquals("other.txt", allocate("other"));
+		assertTrue(Files.exists(root.toPath().resolve("report-2.txt")));
+	}
+
+	@Test
+	public void skipsFilesCreatedByOthers() throws IOException {
+		assertEquals("report.txt", allocate("report"));
+		Files.createFile(root.toPath().resolve("report-1.txt"));
+		assertEquals("report-2.txt", allocate("report"));
+	}
+
+	@Test
+	public void skipsExistingFilesAfterRelease() throws IOException {
+		allocator.acquire(root);
+		allocate("report");
+		allocate("report");
+		allocator.release(root);
+		assertEquals("report-2.txt", allocate("report"));
+		assertEquals(root.toPath().resolve("report-3.txt"), new SebFileAllocator().allocate(root, "report", "txt"));
+	}
+
+	@Test
+	public void keepsCountersUntilLastUserReleases() throws IOException {
+		allocator.acquire(root);
+		allocator.acquire(root);
+		assertEquals("report.txt", allocate("report"));
+		Files.delete(root.toPath().resolve("report.txt"));
+		allocator.release(root);
+		assertEquals("report-1.txt", allocate("report"));
+		allocator.release(root);
+		assertEquals("report.txt", allocate("report"));
+	}
+
+	@Test
+	public void createsDirectories() throws IOException {
+		Path path = allocator.allocate(root, "sub/dir/report", "txt");
+		assertEquals(root.toPath().resolve("sub/dir/report.txt"), path);
+		Files.delete(path);
+		Files.delete(path.getParent());
+		assertEquals(root.toPath().resolve("sub/dir/report-1.txt"), allocator.allocate(root, "sub/dir/report", "txt"));
+	}
+
+	@Test
+	public void allocatesUniqueFilesConcurrently() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Path>> futures = new ArrayList<>();
+			Callable<Path> allocation = () -> allocator.allocate(root, "report", "txt");
+			for (int i = 0; i < 100; i++)
+				futures.add(executor.submit(allocation));
+			Set<Path> paths = new HashSet<>();
+			for (Future<Path> future : futures)
+				paths.add(future.get());
+			assertEquals(100, paths.size());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	protected String allocate(String name) throws IOException {
+		return allocator.allocate(root, name, "txt").getFileName().toString();
+	}
+
+}
@@ -0,0 +1,97 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.test.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import cz.etnetera.seb.SebBlobStore;
+import cz.etnetera.seb.listener.impl.PageSourceDelta;
+
+public class PageSourceDeltaTest {
+
+	protected static final String SOURCE = "<html>\n<head><title>Home</title></head>\n"
+			+ "<body><div id=\"menu\"><a href=\"/\">Home</a><a href=\"/about\">About</a></div>"
+			+ "<p>Žluťoučký kůň</p></body>\n</html>\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void appliesDiffOfChangedSources() {
+		assertRoundTrip(SOURCE, SOURCE);
+		assertRoundTrip(SOURCE, SOURCE.replace("Home</title>", "Home page</title>"));
+		assertRoundTrip(SOURCE, SOURCE.replace("<a href=\"/about\">About</a>", ""));
+		assertRoundTrip(SOURCE, SOURCE.replace("</div>", "<a href=\"/blog\">Blog</a></div>"));
+		assertRoundTrip(SOURCE, SOURCE.replace("kůň", "kůň\nběží"));
+		assertRoundTrip("", SOURCE);
+		assertRoundTrip(SOURCE, "");
+	}
+
+	@Test
+	public void refusesTooDifferentSources() {
+		String target = SOURCE.replace(">", "/>");
+		assertNull(PageSourceDelta.diff(SOURCE, target, 2));
+		assertNotNull(PageSourceDelta.diff(SOURCE, target, 100));
+	}
+
+	@Test
+	public void reconstructsDeltaChain() throws IOException {
+		String second = SOURCE.replace("About", "About us");
+		String third = second.replace("<p>", "<p class=\"lead\">");
+		Path root = folder.getRoot().toPath();
+		write(root.resolve("Page-1.html"), SOURCE);
+		write(root.resolve("Page-2." + PageSourceDelta.EXTENSION),
+				PageSourceDelta.toFileContent("Page-1.html", PageSourceDelta.diff(SOURCE, second, 100)));
+		write(root.resolve("Page-3." + PageSourceDelta.EXTENSION), PageSourceDelta.toFileContent(
+				"Page-2." + PageSourceDelta.EXTENSION, PageSourceDelta.diff(second, third, 100)));
+		assertEquals(SOURCE, PageSourceDelta.reconstruct(root.resolve("Page-1.html")));
+		assertEquals(third, PageSourceDelta.reconstruct(root.resolve("Page-3." + PageSourceDelta.EXTENSION)));
+	}
+
+	@Test
+	public void reconstructsBaseStoredInBlobStore() throws IOException {
+		Path root = folder.getRoot().toPath();
+		SebBlobStore store = new SebBlobStore(root);
+		byte[] bytes = SOURCE.getBytes(PageSourceDelta.CHARSET);
+		Path blob = store.getBlobPath(bytes, "html");
+		store.store(blob, bytes);
+		store.index(root.resolve("Page-1.html"), blob);
+		String target = SOURCE.replace("Home</a>", "Start</a>");
+		Path delta = root.resolve("Page-2." + PageSourceDelta.EXTENSION);
+		write(delta, PageSourceDelta.toFileContent("Page-1.html", PageSourceDelta.diff(SOURCE, target, 100)));
+		assertEquals(target, PageSourceDelta.reconstruct(delta));
+	}
+
+	protected void assertRoundTrip(String base, String target) {
+		String delta = PageSourceDelta.diff(base, target, 100);
+		assertNotNull(delta);
+		assertEquals(target, PageSourceDelta.apply(base, delta));
+	}
+
+	protected void write(Path file, String content) throws IOException {
+		Files.write(file, content.getBytes(PageSourceDelta.CHARSET));
+	}
+
+}
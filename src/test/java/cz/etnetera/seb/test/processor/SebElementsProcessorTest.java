@@ -0,0 +1,141 @@
+/* Copyright 2016 Etnetera a.s.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cz.etnetera.seb.test.processor;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import cz.etnetera.seb.element.SebElementsInitializer;
+import cz.etnetera.seb.processor.SebElementsProcessor;
+
+public class SebElementsProcessorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	protected JavaCompiler compiler;
+
+	protected DiagnosticCollector<JavaFileObject> diagnostics;
+
+	protected Path sources;
+
+	@Before
+	public void before() throws IOException {
+		compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeNotNull(compiler);
+		diagnostics = new DiagnosticCollector<>();
+		sources = folder.newFolder("generated").toPath();
+	}
+
+	@Test
+	public void generatesInitializerOfAnnotatedFields() throws IOException {
+		compile("fixture.ItemsPage", "package fixture;\n"
+				+ "import java.util.List;\n"
+				+ "import org.openqa.selenium.support.CacheLookup;\n"
+				+ "import org.openqa.selenium.support.FindBy;\n"
+				+ "import cz.etnetera.seb.element.*;\n"
+				+ "public class ItemsPage extends cz.etnetera.seb.page.Page {\n"
+				+ "  @FindBy(css = \".item\") protected List<SebElement> items;\n"
+				+ "  @FindBy(id = \"title\") @CacheLookup @RequiredElement protected SebElement title;\n"
+				+ "  @FindByDefault protected SebElement search;\n"
+				+ "}\n");
+		String source = readGenerated("fixture.ItemsPage");
+		assertTrue(source, source.contains("implements cz.etnetera.seb.element.SebElementsInitializer<fixture.ItemsPage>"));
+		assertTrue(source, source.contains("BY_0 = org.openqa.selenium.By.cssSelector(\".item\");"));
+		assertTrue(source, source.contains("BY_1 = org.openqa.selenium.By.id(\"title\");"));
+		assertTrue(source, source.contains("BY_2 = new org.openqa.selenium.support.ByIdOrName(\"search\");"));
+		assertTrue(source, source.contains("loader.find(context, context.createElementLocator(BY_0, false), "
+				+ "cz.etnetera.seb.element.SebElement.class);"));
+		assertTrue(source, source.contains("loader.findOne(context, context.createElementLocator(BY_1, true), "
+				+ "cz.etnetera.seb.element.SebElement.class, false);"));
+		assertTrue(source, source.contains("loader.findOne(context, context.createElementLocator(BY_2, false), "
+				+ "cz.etnetera.seb.element.SebElement.class, true);"));
+	}
+
+	@Test
+	public void namesInitializerOfMemberClass() throws IOException {
+		compile("fixture.Outer", "package fixture;\n"
+				+ "import org.openqa.selenium.support.FindBy;\n"
+				+ "public class Outer {\n"
+				+ "  public static class Menu extends cz.etnetera.seb.module.Module {\n"
+				+ "    @FindBy(xpath = \"./a\") protected java.util.List<cz.etnetera.seb.element.SebElement> links;\n"
+				+ "  }\n"
+				+ "}\n");
+		assertTrue(Files.exists(getGeneratedPath("fixture.Outer_Menu")));
+	}
+
+	@Test
+	public void skipsClassWithPrivateField() throws IOException {
+		compile("fixture.PrivatePage", "package fixture;\n"
+				+ "import org.openqa.selenium.support.FindBy;\n"
+				+ "public class PrivatePage extends cz.etnetera.seb.page.Page {\n"
+				+ "  @FindBy(id = \"secret\") private cz.etnetera.seb.element.SebElement secret;\n"
+				+ "}\n");
+		assertFalse(Files.exists(getGeneratedPath("fixture.PrivatePage")));
+		assertTrue(diagnostics.getDiagnostics().stream().anyMatch(d -> d.getKind() == Diagnostic.Kind.NOTE
+				&& d.getMessage(null).contains("fixture.PrivatePage are initialized using reflection")));
+	}
+
+	protected void compile(String className, String source) throws IOException {
+		JavaFileObject file = new SimpleJavaFileObject(
+				URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+				JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return source;
+			}
+		};
+		List<String> options = new ArrayList<>(Arrays.asList("-classpath", System.getProperty("java.class.path"),
+				"-d", folder.newFolder().getPath(), "-s", sources.toString()));
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null,
+				Collections.singletonList(file));
+		task.setProcessors(Collections.singletonList(new SebElementsProcessor()));
+		assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+	}
+
+	protected String readGenerated(String className) throws IOException {
+		return new String(Files.readAllBytes(getGeneratedPath(className)), StandardCharsets.UTF_8);
+	}
+
+	protected Path getGeneratedPath(String className) {
+		return sources.resolve((className + SebElementsInitializer.CLASS_NAME_SUFFIX).replace('.', File.separatorChar)
+				+ JavaFileObject.Kind.SOURCE.extension);
+	}
+
+}